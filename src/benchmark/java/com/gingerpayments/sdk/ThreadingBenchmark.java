@@ -0,0 +1,100 @@
+package com.gingerpayments.sdk;
+
+import com.gingerpayments.sdk.ApiClient.ApiClient;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares blocking order lookups on platform threads and on virtual threads
+ * against a local mock server with a fixed response latency.
+ *
+ * Usage: <code>gradle benchmark --args="[lookups] [platform threads] [latency ms]"</code>.
+ * Virtual threads are skipped on runtimes before Java 21.
+ */
+public final class ThreadingBenchmark {
+    public static void main(String[] args) throws Exception {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int platformThreads = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 50;
+
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                    .setBody("{\"id\":\"" + request.getPath().substring(request.getPath().lastIndexOf('/') + 1) + "\",\"status\":\"completed\"}")
+                    .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        ApiClient client = Ginger.builder()
+            .endpoint(server.url("/").toString())
+            .apiKey("benchmark")
+            .connectionPool(lookups, java.time.Duration.ofMinutes(1))
+            .build();
+
+        // warm up connections and code paths
+        run("warm-up", client, Executors.newFixedThreadPool(platformThreads), Math.min(lookups, 500));
+
+        run(platformThreads + " platform threads", client, Executors.newFixedThreadPool(platformThreads), lookups);
+
+        ExecutorService virtualThreads = virtualThreadExecutor();
+
+        if (virtualThreads == null) {
+            System.out.println("virtual threads: not supported by this runtime, skipped");
+        } else {
+            run("virtual threads", client, virtualThreads, lookups);
+        }
+
+        server.shutdown();
+    }
+
+    private static void run(String name, ApiClient client, ExecutorService executor, int lookups) throws Exception {
+        List<Future<?>> results = new ArrayList<>(lookups);
+        long startedAt = System.nanoTime();
+
+        for (int i = 0; i < lookups; i++) {
+            String id = "order-" + i;
+            results.add(executor.submit(() -> client.getOrder(id)));
+        }
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+
+        System.out.printf(
+            "%s: %d lookups in %d ms, %.0f lookups/s%n",
+            name,
+            lookups,
+            elapsedMillis,
+            lookups * 1000.0 / Math.max(1, elapsedMillis)
+        );
+    }
+
+    private static ExecutorService virtualThreadExecutor() throws ReflectiveOperationException {
+        Method factory;
+
+        try {
+            factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException exception) {
+            return null;
+        }
+
+        return (ExecutorService) factory.invoke(null);
+    }
+}
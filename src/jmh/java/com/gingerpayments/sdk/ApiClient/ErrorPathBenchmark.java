@@ -0,0 +1,96 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.gingerpayments.sdk.HttpClient.HttpClient;
+import com.gingerpayments.sdk.HttpClient.HttpException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the error path: converting HTTP errors and error bodies into the
+ * exceptions thrown by the client, including their stack traces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+    private static final String ERROR_BODY = "{\"error\":{\"status\":\"404\",\"type\":\"NotFound\","
+        + "\"value\":\"Order fcbfdd3a-ea2c-4240-96b2-613d49b79a55 not found\"}}";
+
+    private ApiClient httpError;
+    private ApiClient serverError;
+    private ApiClient errorInBody;
+
+    @Setup
+    public void setUp() {
+        httpError = new ApiClient(new FailingHttpClient(503, "Service Unavailable", null));
+        serverError = new ApiClient(new FailingHttpClient(404, "Not Found", ERROR_BODY));
+        errorInBody = new ApiClient(new ResponseParsingBenchmark.FixedResponseHttpClient(ERROR_BODY));
+    }
+
+    @Benchmark
+    public Exception httpRequestFailure() {
+        return getOrder(httpError);
+    }
+
+    @Benchmark
+    public Exception serverErrorFromErrorResponse() {
+        return getOrder(serverError);
+    }
+
+    @Benchmark
+    public Exception serverErrorFromSuccessfulResponse() {
+        return getOrder(errorInBody);
+    }
+
+    private static Exception getOrder(ApiClient client) {
+        try {
+            client.getOrder("1");
+        } catch (Exception exception) {
+            return exception;
+        }
+
+        throw new IllegalStateException("Expected the request to fail");
+    }
+
+    /**
+     * HTTP client that fails every request with the same HTTP error.
+     */
+    private static final class FailingHttpClient implements HttpClient {
+        private final int status;
+        private final String message;
+        private final String responseBody;
+
+        FailingHttpClient(int status, String message, String responseBody) {
+            this.status = status;
+            this.message = message;
+            this.responseBody = responseBody;
+        }
+
+        public String request(String method, String path) throws HttpException {
+            throw new HttpException(status, message, path, responseBody);
+        }
+
+        public String request(String method, String path, Map<String, String> headers) throws HttpException {
+            throw new HttpException(status, message, path, responseBody);
+        }
+
+        public String request(String method, String path, Map<String, String> headers, String data) throws HttpException {
+            throw new HttpException(status, message, path, responseBody);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.gingerpayments.sdk.HttpClient.HttpClient;
+import com.gingerpayments.sdk.Payloads;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning an order response body into the value returned to the
+ * caller, without any network I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+    @Param({"small", "medium", "large"})
+    public String size;
+
+    @Param({"org.json", "jackson"})
+    public String codec;
+
+    private ApiClient client;
+
+    @Setup
+    public void setUp() {
+        String order = Payloads.order(size);
+
+        client = new ApiClient(
+            new FixedResponseHttpClient(order),
+            null,
+            null,
+            "jackson".equals(codec) ? new JacksonJsonCodec() : new OrgJsonCodec()
+        );
+    }
+
+    @Benchmark
+    public JSONObject getOrder() throws Exception {
+        return client.getOrder("fcbfdd3a-ea2c-4240-96b2-613d49b79a55");
+    }
+
+    @Benchmark
+    public Object getOrderTyped() throws Exception {
+        return client.getOrderTyped("fcbfdd3a-ea2c-4240-96b2-613d49b79a55");
+    }
+
+    @Benchmark
+    public String getOrderViewStatus() throws Exception {
+        return client.getOrderView("fcbfdd3a-ea2c-4240-96b2-613d49b79a55").getString("status");
+    }
+
+    @Benchmark
+    public String send() throws Exception {
+        return client.send("GET", "/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55");
+    }
+
+    /**
+     * HTTP client that answers every request with the same body.
+     */
+    static final class FixedResponseHttpClient implements HttpClient {
+        private final String response;
+
+        FixedResponseHttpClient(String response) {
+            this.response = response;
+        }
+
+        public String request(String method, String path) {
+            return response;
+        }
+
+        public String request(String method, String path, Map<String, String> headers) {
+            return response;
+        }
+
+        public String request(String method, String path, Map<String, String> headers, String data) {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import com.gingerpayments.sdk.Payloads;
+
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of {@link OkHttpClient#request} itself: building the request, and
+ * running a call through OkHttp against an interceptor that answers without
+ * touching the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestBuildingBenchmark {
+    private static final MediaType JSON = MediaType.parse("application/json");
+    private static final String ORDER_DATA = "{\"currency\":\"EUR\",\"amount\":2500,\"description\":\"Purchase order 12345\"}";
+    private static final Map<String, String> HEADERS = Map.of(
+        "Content-Type", "application/json",
+        "Idempotency-Key", "8f0c5c2e-6f1a-4a8e-9d3b-2f6c1e7a9b4d"
+    );
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private OkHttpClient client;
+
+    @Setup
+    public void setUp() {
+        String order = Payloads.order("small");
+        okhttp3.OkHttpClient transport = new okhttp3.OkHttpClient.Builder()
+            .addInterceptor(chain -> new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(order, JSON))
+                .build())
+            .build();
+
+        client = new OkHttpClient(
+            transport,
+            HttpUrl.parse("https://api.example.com/v1/"),
+            "benchmark",
+            Map.of("User-Agent", "ginger-java"),
+            null,
+            instrumented ? new MetricsRecorder() : null
+        );
+    }
+
+    @Benchmark
+    public Request newGetRequest() {
+        return client.newRequest("GET", "/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55", null, null);
+    }
+
+    @Benchmark
+    public Request newPostRequest() {
+        return client.newRequest("POST", "/orders", HEADERS, RequestBody.create(ORDER_DATA, JSON));
+    }
+
+    @Benchmark
+    public String getWithoutNetwork() throws HttpException {
+        return client.request("GET", "/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55");
+    }
+
+    @Benchmark
+    public String postWithoutNetwork() throws HttpException {
+        return client.request("POST", "/orders", HEADERS, ORDER_DATA);
+    }
+}
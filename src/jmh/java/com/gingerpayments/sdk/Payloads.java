@@ -0,0 +1,70 @@
+package com.gingerpayments.sdk;
+
+/**
+ * Order response bodies of realistic shape for the benchmarks.
+ */
+public final class Payloads {
+    private Payloads() {}
+
+    /**
+     * @param size <code>small</code>: one transaction; <code>medium</code>:
+     *             a few transactions and order lines; <code>large</code>:
+     *             many of both, as seen on marketplace orders.
+     * @return Order JSON, about 0.5, 4 and 40 KB in size.
+     */
+    public static String order(String size) {
+        switch (size) {
+            case "small":
+                return order(1, 0);
+            case "medium":
+                return order(3, 10);
+            case "large":
+                return order(20, 100);
+            default:
+                throw new IllegalArgumentException("Unknown payload size: " + size);
+        }
+    }
+
+    public static String order(int transactions, int orderLines) {
+        StringBuilder json = new StringBuilder()
+            .append("{\"id\":\"fcbfdd3a-ea2c-4240-96b2-613d49b79a55\",")
+            .append("\"project_id\":\"1ac2b2c8-1b6c-4fb1-a8ca-6c5f4e6e1f9b\",")
+            .append("\"merchant_order_id\":\"order-12345\",")
+            .append("\"status\":\"completed\",")
+            .append("\"currency\":\"EUR\",")
+            .append("\"amount\":2500,")
+            .append("\"description\":\"Purchase order 12345\",")
+            .append("\"return_url\":\"https://www.example.com/return\",")
+            .append("\"created\":\"2021-03-01T12:00:00.000000+00:00\",")
+            .append("\"modified\":\"2021-03-01T12:01:30.000000+00:00\",")
+            .append("\"flags\":[\"is-test\"],")
+            .append("\"customer\":{\"first_name\":\"Jan\",\"last_name\":\"Jansen\",")
+            .append("\"email_address\":\"jan@example.com\",\"country\":\"NL\",")
+            .append("\"address\":\"Main street 1\\n1234 AB Amsterdam\",\"locale\":\"nl_NL\"},")
+            .append("\"transactions\":[");
+
+        for (int i = 0; i < transactions; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"id\":\"6e0a1c2f-2b6d-4d0a-9c4f-0d3f5e6a7b").append(10 + i).append("\",")
+                .append("\"status\":\"completed\",\"payment_method\":\"ideal\",")
+                .append("\"payment_method_details\":{\"issuer_id\":\"INGBNL2A\",\"consumer_name\":\"J. Jansen\",")
+                .append("\"consumer_iban\":\"NL44RABO0123456789\"},")
+                .append("\"payment_url\":\"https://api.example.com/pay/6e0a1c2f\",")
+                .append("\"amount\":2500,\"currency\":\"EUR\",\"is_capturable\":false,")
+                .append("\"created\":\"2021-03-01T12:00:00.000000+00:00\"}");
+        }
+
+        json.append("],\"order_lines\":[");
+
+        for (int i = 0; i < orderLines; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"id\":\"line-").append(i).append("\",\"type\":\"physical\",")
+                .append("\"merchant_order_line_id\":\"").append(i).append("\",")
+                .append("\"name\":\"Product ").append(i).append("\",\"quantity\":1,")
+                .append("\"amount\":250,\"vat_percentage\":2100,\"currency\":\"EUR\",")
+                .append("\"url\":\"https://www.example.com/products/").append(i).append("\"}");
+        }
+
+        return json.append("]}").toString();
+    }
+}
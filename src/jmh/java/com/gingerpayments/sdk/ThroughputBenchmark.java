@@ -0,0 +1,98 @@
+package com.gingerpayments.sdk;
+
+import com.gingerpayments.sdk.ApiClient.ApiClient;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end order lookups against a local mock server, with the given
+ * number of asynchronous requests in flight.
+ *
+ * One operation is a batch of <code>concurrency</code> lookups, so multiply
+ * the score by the concurrency for lookups per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThroughputBenchmark {
+    @Param({"1", "8", "64"})
+    public int concurrency;
+
+    @Param({"small", "large"})
+    public String size;
+
+    private MockWebServer server;
+    private ApiClient client;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        MockResponse response = new MockResponse()
+            .setHeader("Content-Type", "application/json")
+            .setBody(Payloads.order(size));
+
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return response;
+            }
+        });
+        server.start();
+
+        client = Ginger.builder()
+            .endpoint(server.url("/").toString())
+            .apiKey("benchmark")
+            .connectionPool(concurrency, Duration.ofMinutes(1))
+            .maxRequests(concurrency)
+            .maxRequestsPerHost(concurrency)
+            .build();
+
+        ids = new String[concurrency];
+
+        for (int i = 0; i < concurrency; i++) {
+            ids[i] = "fcbfdd3a-ea2c-4240-96b2-613d49b7" + (1000 + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public void getOrders() {
+        CompletableFuture<?>[] lookups = new CompletableFuture<?>[concurrency];
+
+        for (int i = 0; i < concurrency; i++) {
+            lookups[i] = client.getOrderAsync(ids[i]);
+        }
+
+        CompletableFuture.allOf(lookups).join();
+    }
+}
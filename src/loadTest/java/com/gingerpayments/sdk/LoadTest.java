@@ -0,0 +1,227 @@
+package com.gingerpayments.sdk;
+
+import com.gingerpayments.sdk.ApiClient.ApiClient;
+import com.gingerpayments.sdk.HttpClient.EndpointMetrics;
+import com.gingerpayments.sdk.HttpClient.MetricsRecorder;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Regression budgets for the client, measured against a local mock server.
+ *
+ * Run with <code>./gradlew loadTest</code>. The load and the budgets can be
+ * changed with Gradle properties, e.g.
+ * <code>./gradlew loadTest -PloadTest.concurrency=64 -PloadTest.latencyMillis=50</code>.
+ * The measured numbers are written to <code>build/reports/load-test/results.properties</code>,
+ * so they can be tracked across releases.
+ */
+public final class LoadTest {
+    private static final int CONCURRENCY = Integer.getInteger("loadTest.concurrency", 16);
+    private static final int CALLS = Integer.getInteger("loadTest.calls", 2000);
+    private static final long LATENCY_MILLIS = Long.getLong("loadTest.latencyMillis", 10);
+
+    private static final long MAX_BYTES_PER_CALL = Long.getLong("loadTest.maxBytesPerCall", 64 * 1024);
+    private static final double MIN_CONNECTION_REUSE = Double.parseDouble(System.getProperty("loadTest.minConnectionReuse", "0.95"));
+    private static final long MAX_P50_OVERHEAD_MICROS = Long.getLong("loadTest.maxP50OverheadMicros", 5_000);
+    private static final long MAX_P99_OVERHEAD_MICROS = Long.getLong("loadTest.maxP99OverheadMicros", 50_000);
+
+    private static final String ORDER = "{\"id\":\"fcbfdd3a-ea2c-4240-96b2-613d49b79a55\","
+        + "\"merchant_order_id\":\"order-12345\",\"status\":\"completed\",\"currency\":\"EUR\",\"amount\":2500,"
+        + "\"description\":\"Purchase order 12345\",\"created\":\"2021-03-01T12:00:00.000000+00:00\","
+        + "\"customer\":{\"first_name\":\"Jan\",\"last_name\":\"Jansen\",\"country\":\"NL\"},"
+        + "\"transactions\":[{\"id\":\"6e0a1c2f-2b6d-4d0a-9c4f-0d3f5e6a7b10\",\"status\":\"completed\","
+        + "\"payment_method\":\"ideal\",\"payment_method_details\":{\"issuer_id\":\"INGBNL2A\"},"
+        + "\"payment_url\":\"https://api.example.com/pay/6e0a1c2f\",\"amount\":2500,\"is_capturable\":false}]}";
+
+    private static final Map<String, String> results = new TreeMap<>();
+
+    private MockWebServer server;
+    private MetricsRecorder metrics;
+    private ApiClient client;
+    private volatile long latencyMillis = LATENCY_MILLIS;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setServerSocketFactory(new NoDelayServerSocketFactory());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(ORDER)
+                    .setHeadersDelay(latencyMillis, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+
+        metrics = new MetricsRecorder();
+        client = Ginger.builder()
+            .endpoint(server.url("/").toString())
+            .apiKey("load-test")
+            .connectionPool(CONCURRENCY, Duration.ofMinutes(1))
+            .maxRequests(CONCURRENCY)
+            .maxRequestsPerHost(CONCURRENCY)
+            .instrumentation(metrics)
+            .build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @AfterClass
+    public static void writeResults() throws IOException {
+        String reportFile = System.getProperty("loadTest.reportFile");
+
+        for (Map.Entry<String, String> result : results.entrySet()) {
+            System.out.println(result.getKey() + " = " + result.getValue());
+        }
+
+        if (reportFile == null) {
+            return;
+        }
+
+        Path report = Paths.get(reportFile);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+
+        try (Writer writer = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> result : results.entrySet()) {
+                writer.write(result.getKey() + "=" + result.getValue() + "\n");
+            }
+        }
+    }
+
+    @Test
+    public void testAllocationPerCallStaysWithinBudget() throws Exception {
+        assumeTrue(Allocations.isSupported());
+
+        // blocking calls do their I/O on the calling thread, so its allocations cover the whole call
+        latencyMillis = 0;
+        long bytesPerCall = Allocations.bytesPerCall(Math.min(CALLS, 1000), i -> client.getOrder("order-" + i));
+        results.put("allocation.bytesPerCall", Long.toString(bytesPerCall));
+
+        assertTrue(
+            String.format("%d bytes allocated per call, budget is %d", bytesPerCall, MAX_BYTES_PER_CALL),
+            bytesPerCall <= MAX_BYTES_PER_CALL
+        );
+    }
+
+    @Test
+    public void testConnectionsAreReused() throws Exception {
+        // includes the warm-up, which opens the connections
+        runConcurrently();
+
+        EndpointMetrics orders = metrics.getEndpoint("GET /orders/{id}");
+        long reused = orders.getReusedConnectionCount();
+        long opened = orders.getNewConnectionCount();
+        double reuse = (double) reused / (reused + opened);
+        results.put("connections.opened", Long.toString(opened));
+        results.put("connections.reuseRatio", String.format("%.4f", reuse));
+
+        assertTrue(
+            String.format("%.4f of the calls reused a connection (%d new connections), budget is %.4f", reuse, opened, MIN_CONNECTION_REUSE),
+            reuse >= MIN_CONNECTION_REUSE
+        );
+    }
+
+    @Test
+    public void testLatencyOverheadStaysWithinBudget() throws Exception {
+        long[] latencies = runConcurrently();
+        long serverNanos = TimeUnit.MILLISECONDS.toNanos(LATENCY_MILLIS);
+        long p50Micros = TimeUnit.NANOSECONDS.toMicros(percentile(latencies, 0.5) - serverNanos);
+        long p99Micros = TimeUnit.NANOSECONDS.toMicros(percentile(latencies, 0.99) - serverNanos);
+        results.put("latency.p50OverheadMicros", Long.toString(p50Micros));
+        results.put("latency.p99OverheadMicros", Long.toString(p99Micros));
+
+        assertTrue(
+            String.format("p50 overhead is %d us, budget is %d us", p50Micros, MAX_P50_OVERHEAD_MICROS),
+            p50Micros <= MAX_P50_OVERHEAD_MICROS
+        );
+        assertTrue(
+            String.format("p99 overhead is %d us, budget is %d us", p99Micros, MAX_P99_OVERHEAD_MICROS),
+            p99Micros <= MAX_P99_OVERHEAD_MICROS
+        );
+    }
+
+    /**
+     * Look up orders from a pool of threads, one blocking call at a time per
+     * thread, after warming up the connections and code paths.
+     *
+     * The latencies include the mock server and the loopback network besides
+     * the configured server latency, so the overhead derived from them is an
+     * upper bound of what the client adds.
+     *
+     * @return The sorted latencies of the measured calls, in nanoseconds.
+     */
+    private long[] runConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+
+        try {
+            run(executor, new long[Math.min(CALLS, CONCURRENCY * 20)]);
+
+            long[] latencies = new long[CALLS];
+            run(executor, latencies);
+            Arrays.sort(latencies);
+
+            return latencies;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void run(ExecutorService executor, long[] latencies) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(executor.submit(() -> {
+                for (int call = next.getAndIncrement(); call < latencies.length; call = next.getAndIncrement()) {
+                    long start = System.nanoTime();
+                    client.getOrder("order-" + call);
+                    latencies[call] = System.nanoTime() - start;
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
@@ -1,35 +1,127 @@
 package com.gingerpayments.sdk.ApiClient;
 
+import com.gingerpayments.sdk.HttpClient.AsyncHttpClient;
 import com.gingerpayments.sdk.HttpClient.HttpClient;
 import com.gingerpayments.sdk.HttpClient.HttpException;
+import com.gingerpayments.sdk.HttpClient.RequestWriter;
+import com.gingerpayments.sdk.HttpClient.ResponseReader;
+import com.gingerpayments.sdk.Model.Issuer;
+import com.gingerpayments.sdk.Model.Order;
+import com.gingerpayments.sdk.Model.Refund;
 
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Generic client for Ginger platform APIs.
  */
 public final class ApiClient {
+    private static final Map<String, String> NO_HEADERS = Map.of();
+    private static final Map<String, String> JSON_HEADERS = Map.of("Content-Type", "application/json");
     private final HttpClient httpClient;
+    private final OrderCache orderCache;
+    private final IssuerCache issuerCache;
+    private final JsonCodec codec;
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ResponseReader<TaggedJson, JsonDecodeFailure> taggedJsonReader = new ResponseReader<>() {
+        @Override
+        public TaggedJson read(InputStream body) throws IOException, JsonDecodeFailure {
+            return new TaggedJson(codec.decode(body), null);
+        }
+
+        @Override
+        public TaggedJson read(InputStream body, Function<String, String> headers) throws IOException, JsonDecodeFailure {
+            return new TaggedJson(codec.decode(body), headers.apply("ETag"));
+        }
+    };
 
     public ApiClient(HttpClient httpClient) {
+        this(httpClient, null, null);
+    }
+
+    /**
+     * @param httpClient HTTP client used to execute requests.
+     * @param orderCache Cache for retrieved orders, or <code>null</code> to disable caching.
+     */
+    public ApiClient(HttpClient httpClient, OrderCache orderCache) {
+        this(httpClient, orderCache, null);
+    }
+
+    /**
+     * @param httpClient  HTTP client used to execute requests.
+     * @param orderCache  Cache for retrieved orders, or <code>null</code> to disable caching.
+     * @param issuerCache Cache for the iDEAL issuers, or <code>null</code> to disable caching.
+     */
+    public ApiClient(HttpClient httpClient, OrderCache orderCache, IssuerCache issuerCache) {
+        this(httpClient, orderCache, issuerCache, new OrgJsonCodec());
+    }
+
+    /**
+     * @param httpClient  HTTP client used to execute requests.
+     * @param orderCache  Cache for retrieved orders, or <code>null</code> to disable caching.
+     * @param issuerCache Cache for the iDEAL issuers, or <code>null</code> to disable caching.
+     * @param codec       Codec used to read and write JSON.
+     */
+    public ApiClient(HttpClient httpClient, OrderCache orderCache, IssuerCache issuerCache, JsonCodec codec) {
         this.httpClient = httpClient;
+        this.orderCache = orderCache;
+        this.issuerCache = issuerCache;
+        this.codec = codec;
     }
 
     /**
      * Get a list of possible iDEAL issuers.
      *
+     * With an issuer cache, only the first call waits for the API; later calls
+     * return the cached list and refresh it in the background when it is stale.
+     *
      * @return The iDEAL issuers.
      * @throws HttpRequestFailure When an error occurred while processing the request.
      * @throws JsonDecodeFailure When the response contained invalid JSON.
      * @throws ServerError When the server returned an error message.
      */
     public JSONArray getIdealIssuers() throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        return parseArray(send("GET", "/ideal/issuers"));
+        if (issuerCache == null) {
+            return coalescer.execute("/ideal/issuers", () -> expectArray(receive("GET", "/ideal/issuers", null)), JSONArray::new);
+        }
+
+        JSONArray cached = issuerCache.get();
+
+        if (cached != null) {
+            refreshIdealIssuers();
+            return cached;
+        }
+
+        return coalescer.execute("/ideal/issuers", () -> {
+            TaggedJson response;
+
+            try {
+                response = httpClient.request("GET", "/ideal/issuers", NO_HEADERS, null, taggedJsonReader);
+            } catch (HttpException exception) {
+                throw requestFailure(exception);
+            }
+
+            return cacheIdealIssuers(response);
+        }, JSONArray::new);
     }
 
     /**
@@ -42,7 +134,127 @@ public final class ApiClient {
      * @throws ServerError When the server returned an error message.
      */
     public JSONObject getOrder(String id) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        return parseObject(send("GET", String.format("/orders/%s", id)));
+        return getOrder(id, false);
+    }
+
+    /**
+     * Get an order, optionally bypassing the order cache.
+     *
+     * A bypassed lookup still stores the retrieved order in the cache.
+     *
+     * @param id          The order ID.
+     * @param bypassCache Whether to retrieve the order from the API even if it is cached.
+     * @return The order.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    public JSONObject getOrder(String id, boolean bypassCache) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        if (orderCache == null) {
+            return fetchOrder(id);
+        }
+
+        if (!bypassCache) {
+            JSONObject cached = orderCache.get(id);
+
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long token = orderCache.loadToken();
+        JSONObject order = fetchOrder(id);
+        orderCache.put(id, order, token);
+
+        return order;
+    }
+
+    /**
+     * Get many orders, with a bounded number of requests in flight.
+     *
+     * @param ids         The order IDs.
+     * @param parallelism Maximum number of requests in flight.
+     * @return Results keyed by order ID, in completion order.
+     * @throws InterruptedException When the calling thread was interrupted;
+     *                              requests in flight are cancelled.
+     * @see #getOrders(Iterable, int, Consumer)
+     */
+    public Map<String, OrderResult> getOrders(Collection<String> ids, int parallelism) throws InterruptedException {
+        Map<String, OrderResult> results = new LinkedHashMap<>();
+        getOrders(ids, parallelism, result -> results.put(result.getId(), result));
+
+        return results;
+    }
+
+    /**
+     * Get many orders, with a bounded number of requests in flight, and hand
+     * each result to the consumer as soon as it is available.
+     *
+     * The IDs are consumed lazily, so they can be streamed as well. Results
+     * are passed to the consumer one at a time, though not necessarily on the
+     * calling thread; a failure to retrieve one order does not affect the
+     * others. Every request passes through the configured HTTP client, so
+     * retries, circuit breakers and concurrency limits still apply; the
+     * transport's per-host request limit also caps the effective parallelism.
+     *
+     * @param ids         The order IDs.
+     * @param parallelism Maximum number of requests in flight.
+     * @param consumer    Receives the result for each ID.
+     * @throws InterruptedException When the calling thread was interrupted;
+     *                              requests in flight are cancelled.
+     */
+    public void getOrders(Iterable<String> ids, int parallelism, Consumer<OrderResult> consumer) throws InterruptedException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        Set<CompletableFuture<JSONObject>> inFlight = ConcurrentHashMap.newKeySet();
+        AtomicReference<RuntimeException> consumerFailure = new AtomicReference<>();
+        // not a monitor: consumers may block, which would pin a virtual thread
+        Lock consumerLock = new ReentrantLock();
+
+        try {
+            for (String id : ids) {
+                permits.acquire();
+
+                if (consumerFailure.get() != null) {
+                    permits.release();
+                    break;
+                }
+
+                CompletableFuture<JSONObject> request = getOrderAsync(id);
+                inFlight.add(request);
+                request.whenComplete((order, exception) -> {
+                    inFlight.remove(request);
+
+                    consumerLock.lock();
+
+                    try {
+                        if (!request.isCancelled()) {
+                            consumer.accept(new OrderResult(id, order, exception == null ? null : unwrap(exception)));
+                        }
+                    } catch (RuntimeException failure) {
+                        consumerFailure.compareAndSet(null, failure);
+                    } finally {
+                        consumerLock.unlock();
+                        permits.release();
+                    }
+                });
+            }
+
+            permits.acquire(parallelism);
+        } catch (InterruptedException exception) {
+            for (CompletableFuture<JSONObject> request : inFlight) {
+                request.cancel(true);
+            }
+
+            throw exception;
+        }
+
+        if (consumerFailure.get() != null) {
+            throw consumerFailure.get();
+        }
     }
 
     /**
@@ -55,7 +267,7 @@ public final class ApiClient {
      * @throws ServerError When the server returned an error message.
      */
     public JSONObject createOrder(JSONObject orderData) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        return parseObject(send("POST", "/orders", orderData.toString()));
+        return expectObject(receive("POST", "/orders", orderData));
     }
 
     /**
@@ -69,7 +281,18 @@ public final class ApiClient {
      * @throws ServerError When the server returned an error message.
      */
     public JSONObject updateOrder(String id, JSONObject orderData) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        return parseObject(send("PUT", String.format("/orders/%s", id), orderData.toString()));
+        coalescer.forget("/orders/" + id);
+
+        if (orderCache == null) {
+            return expectObject(receive("PUT", "/orders/" + id, orderData));
+        }
+
+        orderCache.invalidate(id);
+        long token = orderCache.loadToken();
+        JSONObject order = expectObject(receive("PUT", "/orders/" + id, orderData));
+        orderCache.put(id, order, token);
+
+        return order;
     }
 
     /**
@@ -83,7 +306,13 @@ public final class ApiClient {
      * @throws ServerError When the server returned an error message.
      */
     public JSONObject refundOrder(String id, JSONObject orderData) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        return parseObject(send("POST", String.format("/orders/%s/refunds", id), orderData.toString()));
+        invalidateOrder(id);
+
+        try {
+            return expectObject(receive("POST", "/orders/" + id + "/refunds", orderData));
+        } finally {
+            invalidateOrder(id);
+        }
     }
 
     /**
@@ -96,7 +325,114 @@ public final class ApiClient {
      * @throws ServerError When the server returned an error message.
      */
     public void captureOrderTransaction(String orderId, String transactionId) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        send("POST", String.format("/orders/%s/transactions/%s/captures/", orderId, transactionId));
+        invalidateOrder(orderId);
+
+        try {
+            send("POST", "/orders/" + orderId + "/transactions/" + transactionId + "/captures/");
+        } finally {
+            invalidateOrder(orderId);
+        }
+    }
+
+    /**
+     * Get a list of possible iDEAL issuers as typed models.
+     *
+     * The response is decoded straight into the models; the issuer cache is
+     * not used.
+     *
+     * @return The iDEAL issuers.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    public List<Issuer> getIdealIssuersTyped() throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        return expectIssuers(receive("GET", "/ideal/issuers", null, ModelDecoder::readIssuers));
+    }
+
+    /**
+     * Get an order as a typed model.
+     *
+     * The response is decoded straight into the model; the order cache and
+     * request coalescing are not used.
+     *
+     * @param id The order ID.
+     * @return The order.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    public Order getOrderTyped(String id) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        return expectModel(receive("GET", "/orders/" + id, null, ModelDecoder::readOrder), Order.class);
+    }
+
+    /**
+     * Get an order as a lazy view, for callers that only read a few fields,
+     * such as the status.
+     *
+     * Values are decoded when they are accessed; the order cache and request
+     * coalescing are not used.
+     *
+     * @param id The order ID.
+     * @return The order.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response is not a JSON object.
+     * @throws ServerError When the server returned an error message.
+     */
+    public JsonView getOrderView(String id) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        return expectObjectView(receive("GET", "/orders/" + id, null, ApiClient::readView));
+    }
+
+    /**
+     * Create a new order and return it as a typed model.
+     *
+     * @param orderData Order attributes and values to create.
+     * @return The newly created order.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    public Order createOrderTyped(JSONObject orderData) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        return expectModel(receive("POST", "/orders", orderData, ModelDecoder::readOrder), Order.class);
+    }
+
+    /**
+     * Update an order and return it as a typed model.
+     *
+     * @param id        The ID of the order to update.
+     * @param orderData Order attributes and values to update.
+     * @return The newly updated order.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    public Order updateOrderTyped(String id, JSONObject orderData) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        invalidateOrder(id);
+
+        try {
+            return expectModel(receive("PUT", "/orders/" + id, orderData, ModelDecoder::readOrder), Order.class);
+        } finally {
+            invalidateOrder(id);
+        }
+    }
+
+    /**
+     * Refund an order and return the refund as a typed model.
+     *
+     * @param id        The ID of the order to refund.
+     * @param orderData Refund data.
+     * @return The refund.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    public Refund refundOrderTyped(String id, JSONObject orderData) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        invalidateOrder(id);
+
+        try {
+            return expectModel(receive("POST", "/orders/" + id + "/refunds", orderData, ModelDecoder::readRefund), Refund.class);
+        } finally {
+            invalidateOrder(id);
+        }
     }
 
     /**
@@ -125,26 +461,611 @@ public final class ApiClient {
      * @throws ServerError When the server returned an error message.
      */
     public String send(String method, String path, String data) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
-        String response;
+        return interpretResponse(execute(method, path, data));
+    }
 
-        try {
-            Map<String, String> headers = new HashMap<>();
+    /**
+     * Get a list of possible iDEAL issuers without blocking the calling thread.
+     *
+     * @return Future completed with the iDEAL issuers, or exceptionally with
+     *         an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JSONArray> getIdealIssuersAsync() {
+        if (issuerCache == null) {
+            return coalescer.executeAsync(
+                "/ideal/issuers",
+                () -> receiveAsync("GET", "/ideal/issuers", null, ApiClient::expectArray),
+                JSONArray::new
+            );
+        }
+
+        JSONArray cached = issuerCache.get();
+
+        if (cached != null) {
+            refreshIdealIssuers();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        return coalescer.executeAsync(
+            "/ideal/issuers",
+            () -> translate(requestAsync("GET", "/ideal/issuers", NO_HEADERS, null, taggedJsonReader), this::cacheIdealIssuers),
+            JSONArray::new
+        );
+    }
+
+    /**
+     * Get an order without blocking the calling thread.
+     *
+     * @param id The order ID.
+     * @return Future completed with the order, or exceptionally with an
+     *         {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JSONObject> getOrderAsync(String id) {
+        return getOrderAsync(id, false);
+    }
 
-            if (data != null) {
-                headers.put("Content-Type", "application/json");
+    /**
+     * Get an order without blocking the calling thread, optionally bypassing
+     * the order cache.
+     *
+     * @param id          The order ID.
+     * @param bypassCache Whether to retrieve the order from the API even if it is cached.
+     * @return Future completed with the order, or exceptionally with an
+     *         {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JSONObject> getOrderAsync(String id, boolean bypassCache) {
+        if (orderCache == null) {
+            return fetchOrderAsync(id);
+        }
+
+        if (!bypassCache) {
+            JSONObject cached = orderCache.get(id);
+
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
             }
+        }
+
+        long token = orderCache.loadToken();
+
+        return translate(fetchOrderAsync(id), (order) -> {
+            orderCache.put(id, order, token);
+            return order;
+        });
+    }
+
+    /**
+     * Create a new order without blocking the calling thread.
+     *
+     * @param orderData Order attributes and values to create.
+     * @return Future completed with the newly created order, or exceptionally
+     *         with an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JSONObject> createOrderAsync(JSONObject orderData) {
+        return receiveAsync("POST", "/orders", orderData, ApiClient::expectObject);
+    }
+
+    /**
+     * Update an order without blocking the calling thread.
+     *
+     * @param id        The ID of the order to update.
+     * @param orderData Order attributes and values to update.
+     * @return Future completed with the newly updated order, or exceptionally
+     *         with an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JSONObject> updateOrderAsync(String id, JSONObject orderData) {
+        coalescer.forget("/orders/" + id);
+
+        if (orderCache == null) {
+            return receiveAsync("PUT", "/orders/" + id, orderData, ApiClient::expectObject);
+        }
+
+        orderCache.invalidate(id);
+        long token = orderCache.loadToken();
+
+        return translate(receiveAsync("PUT", "/orders/" + id, orderData, ApiClient::expectObject), (order) -> {
+            orderCache.put(id, order, token);
+            return order;
+        });
+    }
+
+    /**
+     * Refund an order without blocking the calling thread.
+     *
+     * @param id        The ID of the order to update.
+     * @param orderData Refund data.
+     * @return Future completed with the newly updated order, or exceptionally
+     *         with an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JSONObject> refundOrderAsync(String id, JSONObject orderData) {
+        invalidateOrder(id);
+
+        return invalidateOrderOnCompletion(id, receiveAsync("POST", "/orders/" + id + "/refunds", orderData, ApiClient::expectObject));
+    }
+
+    /**
+     * Capture an order transaction without blocking the calling thread.
+     *
+     * @param orderId       The ID of the order.
+     * @param transactionId The ID of the transaction to capture.
+     * @return Future completed when the capture was accepted, or exceptionally
+     *         with an {@link HttpRequestFailure} or {@link ServerError}.
+     */
+    public CompletableFuture<Void> captureOrderTransactionAsync(String orderId, String transactionId) {
+        invalidateOrder(orderId);
+
+        return invalidateOrderOnCompletion(orderId, sendAsync("POST", "/orders/" + orderId + "/transactions/" + transactionId + "/captures/"))
+            .thenApply(response -> null);
+    }
+
+    /**
+     * Get a list of possible iDEAL issuers as typed models without blocking
+     * the calling thread.
+     *
+     * @return Future completed with the iDEAL issuers, or exceptionally with
+     *         an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<List<Issuer>> getIdealIssuersTypedAsync() {
+        return receiveAsync("GET", "/ideal/issuers", null, ModelDecoder::readIssuers, ApiClient::expectIssuers);
+    }
+
+    /**
+     * Get an order as a typed model without blocking the calling thread.
+     *
+     * @param id The order ID.
+     * @return Future completed with the order, or exceptionally with an
+     *         {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<Order> getOrderTypedAsync(String id) {
+        return receiveAsync("GET", "/orders/" + id, null, ModelDecoder::readOrder, (value) -> expectModel(value, Order.class));
+    }
+
+    /**
+     * Get an order as a lazy view without blocking the calling thread.
+     *
+     * @param id The order ID.
+     * @return Future completed with the order, or exceptionally with an
+     *         {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    public CompletableFuture<JsonView> getOrderViewAsync(String id) {
+        return receiveAsync("GET", "/orders/" + id, null, ApiClient::readView, ApiClient::expectObjectView);
+    }
+
+    /**
+     * Send a request to the API without blocking the calling thread.
+     *
+     * @param method HTTP request method
+     * @param path   URL path to call
+     * @return Future completed with the server response.
+     */
+    public CompletableFuture<String> sendAsync(String method, String path) {
+        return sendAsync(method, path, null);
+    }
+
+    /**
+     * Send a request to the API without blocking the calling thread.
+     *
+     * When the configured HTTP client does not implement
+     * {@link AsyncHttpClient}, the request is executed on the calling thread
+     * and an already completed future is returned.
+     *
+     * @param method HTTP request method
+     * @param path   URL path to call
+     * @param data   Request data to send
+     * @return Future completed with the server response, or exceptionally with
+     *         an {@link HttpRequestFailure} or {@link ServerError}.
+     */
+    public CompletableFuture<String> sendAsync(String method, String path, String data) {
+        return translate(executeAsync(method, path, data), this::interpretResponse);
+    }
 
-            response = httpClient.request(method, path, headers, data);
+    /**
+     * Execute a request and return the raw response body.
+     *
+     * @param method HTTP request method
+     * @param path   URL path to call
+     * @param data   Request data to send
+     * @return Raw response body.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws ServerError When the server returned an error message.
+     */
+    private String execute(String method, String path, String data) throws HttpRequestFailure, ServerError {
+        try {
+            return httpClient.request(method, path, headersFor(data), data);
         } catch (HttpException exception) {
-            throw new HttpRequestFailure(exception);
+            throw requestFailure(exception);
+        }
+    }
+
+    /**
+     * Execute a request and decode the response body while it is read from
+     * the network.
+     *
+     * @param method HTTP request method
+     * @param path   URL path to call
+     * @param data   Request data to send
+     * @return Parsed JSON object or array.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    private Object receive(String method, String path, JSONObject data) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        return receive(method, path, data, codec::decode);
+    }
+
+    /**
+     * Execute a request and decode the response body with the given reader.
+     *
+     * @param method HTTP request method
+     * @param path   URL path to call
+     * @param data   Request data to send
+     * @param reader Decodes the response body.
+     * @return Decoded response.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    private Object receive(
+        String method,
+        String path,
+        JSONObject data,
+        ResponseReader<Object, JsonDecodeFailure> reader
+    ) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        Object value;
+
+        try {
+            value = httpClient.request(method, path, headersFor(data), jsonWriter(data), reader);
+        } catch (HttpException exception) {
+            throw requestFailure(exception);
+        }
+
+        return checkForError(value);
+    }
+
+    /**
+     * Execute a request without blocking and return the raw response body.
+     *
+     * @param method HTTP request method
+     * @param path   URL path to call
+     * @param data   Request data to send
+     * @return Future completed with the raw response body, or exceptionally
+     *         with an {@link HttpRequestFailure}.
+     */
+    private CompletableFuture<String> executeAsync(String method, String path, String data) {
+        CompletableFuture<String> request;
+
+        if (httpClient instanceof AsyncHttpClient) {
+            request = ((AsyncHttpClient) httpClient).requestAsync(method, path, headersFor(data), data);
+        } else {
+            request = new CompletableFuture<>();
+
+            try {
+                request.complete(httpClient.request(method, path, headersFor(data), data));
+            } catch (HttpException exception) {
+                request.completeExceptionally(exception);
+            }
+        }
+
+        return translate(request, (response) -> response);
+    }
+
+    /**
+     * Execute a request without blocking and decode the response body while
+     * it is read from the network.
+     *
+     * When the configured HTTP client does not implement
+     * {@link AsyncHttpClient}, the request is executed on the calling thread
+     * and an already completed future is returned.
+     *
+     * @param method    HTTP request method
+     * @param path      URL path to call
+     * @param data      Request data to send
+     * @param converter Converts the parsed JSON value to the result type.
+     * @return Future completed with the converted response, or exceptionally
+     *         with an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    private <T> CompletableFuture<T> receiveAsync(String method, String path, JSONObject data, Converter<Object, T> converter) {
+        return receiveAsync(method, path, data, codec::decode, converter);
+    }
+
+    /**
+     * Execute a request without blocking and decode the response body with
+     * the given reader.
+     *
+     * @param method    HTTP request method
+     * @param path      URL path to call
+     * @param data      Request data to send
+     * @param reader    Decodes the response body.
+     * @param converter Converts the decoded value to the result type.
+     * @return Future completed with the converted response, or exceptionally
+     *         with an {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}.
+     */
+    private <T> CompletableFuture<T> receiveAsync(
+        String method,
+        String path,
+        JSONObject data,
+        ResponseReader<Object, JsonDecodeFailure> reader,
+        Converter<Object, T> converter
+    ) {
+        CompletableFuture<Object> request = requestAsync(method, path, headersFor(data), jsonWriter(data), reader);
+
+        return translate(request, (value) -> converter.convert(checkForError(value)));
+    }
+
+    /**
+     * Execute a request without blocking, falling back to the calling thread
+     * when the HTTP client does not implement {@link AsyncHttpClient}.
+     *
+     * @param method  HTTP request method
+     * @param path    URL path to call
+     * @param headers Request headers
+     * @param writer  Request body writer
+     * @param reader  Response body decoder
+     * @return Future completed with the decoded response, or exceptionally
+     *         with the HTTP client or reader exception.
+     */
+    private <T, E extends Exception> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter writer,
+        ResponseReader<T, E> reader
+    ) {
+        if (httpClient instanceof AsyncHttpClient) {
+            return ((AsyncHttpClient) httpClient).requestAsync(method, path, headers, writer, reader);
+        }
+
+        CompletableFuture<T> request = new CompletableFuture<>();
+
+        try {
+            request.complete(httpClient.request(method, path, headers, writer, reader));
+        } catch (Exception exception) {
+            request.completeExceptionally(exception);
+        }
+
+        return request;
+    }
+
+    /**
+     * Store a retrieved list of iDEAL issuers in the issuer cache.
+     *
+     * @param response Decoded response with its ETag.
+     * @return The iDEAL issuers.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    private JSONArray cacheIdealIssuers(TaggedJson response) throws JsonDecodeFailure, ServerError {
+        JSONArray issuers = expectArray(checkForError(response == null ? null : response.value));
+        issuerCache.update(issuers, response.etag);
+
+        return issuers;
+    }
+
+    /**
+     * Start a background refresh of the cached iDEAL issuers when they are
+     * stale, unless a refresh is already running.
+     *
+     * The refresh sends the ETag of the cached list, so the server can answer
+     * with <code>304 Not Modified</code> instead of the full list.
+     */
+    private void refreshIdealIssuers() {
+        if (!issuerCache.tryStartRefresh()) {
+            return;
+        }
+
+        String etag = issuerCache.getEtag();
+        Map<String, String> headers = etag == null ? NO_HEADERS : Map.of("If-None-Match", etag);
+
+        requestAsync("GET", "/ideal/issuers", headers, null, taggedJsonReader).whenComplete((response, exception) -> {
+            if (exception == null) {
+                try {
+                    cacheIdealIssuers(response);
+                } catch (JsonDecodeFailure | ServerError failure) {
+                    issuerCache.refreshFailed();
+                }
+
+                return;
+            }
+
+            Throwable cause = unwrap(exception);
+
+            if (cause instanceof HttpException && ((HttpException) cause).getErrorNumber() == 304) {
+                issuerCache.revalidated();
+            } else {
+                issuerCache.refreshFailed();
+            }
+        });
+    }
+
+    /**
+     * @return Number of GET requests that shared the HTTP call of an identical
+     *         request in flight instead of sending their own.
+     */
+    public long getCoalescedRequestCount() {
+        return coalescer.getCoalescedCount();
+    }
+
+    /**
+     * Get an order, sharing the HTTP call with identical requests in flight.
+     */
+    private JSONObject fetchOrder(String id) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        String path = "/orders/" + id;
+
+        return coalescer.execute(path, () -> expectObject(receive("GET", path, null)), JSONObject::new);
+    }
+
+    /**
+     * Get an order without blocking, sharing the HTTP call with identical
+     * requests in flight.
+     */
+    private CompletableFuture<JSONObject> fetchOrderAsync(String id) {
+        String path = "/orders/" + id;
+
+        return coalescer.executeAsync(path, () -> receiveAsync("GET", path, null, ApiClient::expectObject), JSONObject::new);
+    }
+
+    /**
+     * Remove an order from the order cache, if enabled, and stop sharing
+     * requests for it that are in flight.
+     *
+     * @param id The order ID.
+     */
+    private void invalidateOrder(String id) {
+        coalescer.forget("/orders/" + id);
+
+        if (orderCache != null) {
+            orderCache.invalidate(id);
+        }
+    }
+
+    /**
+     * Remove an order from the order cache once a request that modifies it
+     * has completed, before the returned future is completed.
+     *
+     * @param id      The order ID.
+     * @param request Future request result.
+     * @return Future completed with the request result.
+     */
+    private <T> CompletableFuture<T> invalidateOrderOnCompletion(String id, CompletableFuture<T> request) {
+        if (orderCache == null) {
+            return request;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        request.whenComplete((value, exception) -> {
+            orderCache.invalidate(id);
+
+            if (exception != null) {
+                result.completeExceptionally(unwrap(exception));
+            } else {
+                result.complete(value);
+            }
+        });
+        cancelOnCancel(result, request);
+
+        return result;
+    }
+
+    private static Map<String, String> headersFor(Object data) {
+        return data == null ? NO_HEADERS : JSON_HEADERS;
+    }
+
+    /**
+     * Serialize request data straight into the request body stream.
+     *
+     * @param data Request data, may be <code>null</code>.
+     * @return Writer for the request body, or <code>null</code> when there is no data.
+     */
+    private RequestWriter jsonWriter(JSONObject data) {
+        if (data == null) {
+            return null;
         }
 
-        return interpretResponse(response);
+        return out -> codec.encode(data, out);
+    }
+
+    /**
+     * Convert the outcome of an asynchronous HTTP request.
+     *
+     * HTTP client errors are converted by {@link #requestFailure}, other
+     * failures are passed on unchanged. Cancelling the returned future cancels
+     * the request.
+     *
+     * @param request   Future HTTP client result.
+     * @param converter Converts a successful result.
+     * @return Future completed with the converted result.
+     */
+    private <S, T> CompletableFuture<T> translate(CompletableFuture<S> request, Converter<S, T> converter) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        request.whenComplete((value, exception) -> {
+            if (exception != null) {
+                Throwable cause = unwrap(exception);
+
+                if (cause instanceof HttpException) {
+                    try {
+                        cause = requestFailure((HttpException) cause);
+                    } catch (ServerError serverError) {
+                        cause = serverError;
+                    }
+                }
+
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            try {
+                result.complete(converter.convert(value));
+            } catch (JsonDecodeFailure | ServerError failure) {
+                result.completeExceptionally(failure);
+            }
+        });
+        cancelOnCancel(result, request);
+
+        return result;
+    }
+
+    /**
+     * Convert an HTTP client error.
+     *
+     * HTTP error responses that carry an API error object are reported as a
+     * {@link ServerError}, with the HTTP error as its cause.
+     *
+     * @param exception HTTP client error.
+     * @return The request failure to throw.
+     * @throws ServerError When the error response contained an error message.
+     */
+    private HttpRequestFailure requestFailure(HttpException exception) throws ServerError {
+        String responseBody = exception.getResponseBody();
+
+        JSONObject error = responseBody == null ? null : codec.findError(responseBody);
+
+        if (error != null) {
+            throw new ServerError(error, exception);
+        }
+
+        return new HttpRequestFailure(exception);
+    }
+
+    /**
+     * Propagate cancellation of a derived future to its source.
+     */
+    private static void cancelOnCancel(CompletableFuture<?> derived, CompletableFuture<?> source) {
+        derived.whenComplete((value, exception) -> {
+            if (derived.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Strip the wrapper exception added by dependent future stages.
+     */
+    static Throwable unwrap(Throwable exception) {
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            return exception.getCause();
+        }
+
+        return exception;
     }
 
     /**
      * Check response body for error messages.
      *
+     * Bodies that are not valid JSON are passed through unchanged.
+     *
      * @param response Response data received from the server.
      * @return Reponse data.
      * @throws ServerError When the server returned an error message.
@@ -154,42 +1075,149 @@ public final class ApiClient {
             return null;
         }
 
-        try {
-            JSONObject parsedResponse = parseObject(response);
+        JSONObject error = codec.findError(response);
 
-            if (parsedResponse.has("error")) {
-                throw new ServerError(parsedResponse.getJSONObject("error"));
-            }
-        } catch (JsonDecodeFailure ignored) {
-            // ignore exception, we only parse error objects here
+        if (error != null) {
+            throw new ServerError(error);
         }
 
         return response;
     }
 
     /**
-     * @param input String to be parsed.
-     * @return Parsed JSON object.
-     * @throws JsonDecodeFailure
+     * Wrap a response body in a lazy view.
+     *
+     * Only the top-level members are scanned, to detect error responses.
+     *
+     * @param body Response body stream.
+     * @return The view, or the error response as a {@link JSONObject}.
+     * @throws IOException When the body could not be read.
+     * @throws JsonDecodeFailure When the body is not a JSON object or array.
      */
-    private JSONObject parseObject(String input) throws JsonDecodeFailure {
+    private static Object readView(InputStream body) throws IOException, JsonDecodeFailure {
+        JsonView view = JsonView.of(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+
         try {
-            return new JSONObject(input);
+            JsonView error = view.isObject() ? view.optJSONObject("error") : null;
+
+            return error == null ? view : new JSONObject().put("error", error.toJSONObject());
         } catch (JSONException exception) {
             throw new JsonDecodeFailure(exception);
         }
     }
 
     /**
-     * @param input String to be parsed.
+     * Check a parsed response for error messages.
+     *
+     * The parsed value is returned so callers can use it directly instead of
+     * parsing the body a second time.
+     *
+     * @param value Parsed response body, or <code>null</code> for an empty body.
+     * @return The parsed response body.
+     * @throws JsonDecodeFailure When the response body was empty.
+     * @throws ServerError When the server returned an error message.
+     */
+    private static Object checkForError(Object value) throws JsonDecodeFailure, ServerError {
+        if (value == null) {
+            throw new JsonDecodeFailure(new JSONException("The response body is empty"));
+        }
+
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+
+            if (object.has("error")) {
+                throw new ServerError(object.getJSONObject("error"));
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * @param value Parsed response body.
+     * @return Parsed JSON object.
+     * @throws JsonDecodeFailure When the response is not a JSON object.
+     */
+    private static JSONObject expectObject(Object value) throws JsonDecodeFailure {
+        if (!(value instanceof JSONObject)) {
+            throw new JsonDecodeFailure(new JSONException("A JSON object was expected"));
+        }
+
+        return (JSONObject) value;
+    }
+
+    /**
+     * @param value Parsed response body.
      * @return Parsed JSON array.
-     * @throws JsonDecodeFailure
+     * @throws JsonDecodeFailure When the response is not a JSON array.
      */
-    private JSONArray parseArray(String input) throws JsonDecodeFailure {
-        try {
-            return new JSONArray(input);
-        } catch (JSONException exception) {
-            throw new JsonDecodeFailure(exception);
+    private static JSONArray expectArray(Object value) throws JsonDecodeFailure {
+        if (!(value instanceof JSONArray)) {
+            throw new JsonDecodeFailure(new JSONException("A JSON array was expected"));
         }
+
+        return (JSONArray) value;
+    }
+
+    /**
+     * @param value Decoded response body.
+     * @return The view of a JSON object.
+     * @throws JsonDecodeFailure When the response is not a JSON object.
+     */
+    private static JsonView expectObjectView(Object value) throws JsonDecodeFailure {
+        if (!(value instanceof JsonView) || !((JsonView) value).isObject()) {
+            throw new JsonDecodeFailure(new JSONException("A JSON object was expected"));
+        }
+
+        return (JsonView) value;
+    }
+
+    /**
+     * Decoded JSON response with its ETag.
+     */
+    private static final class TaggedJson {
+        private final Object value;
+        private final String etag;
+
+        private TaggedJson(Object value, String etag) {
+            this.value = value;
+            this.etag = etag;
+        }
+    }
+
+    /**
+     * @param value Decoded response body.
+     * @param type  Expected model type.
+     * @return The decoded model.
+     * @throws JsonDecodeFailure When the response is not of the expected type.
+     */
+    private static <T> T expectModel(Object value, Class<T> type) throws JsonDecodeFailure {
+        if (!type.isInstance(value)) {
+            throw new JsonDecodeFailure(new JSONException("A JSON object was expected"));
+        }
+
+        return type.cast(value);
+    }
+
+    /**
+     * @param value Decoded response body.
+     * @return The decoded iDEAL issuers.
+     * @throws JsonDecodeFailure When the response is not a list of issuers.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Issuer> expectIssuers(Object value) throws JsonDecodeFailure {
+        if (!(value instanceof List)) {
+            throw new JsonDecodeFailure(new JSONException("A JSON array was expected"));
+        }
+
+        return (List<Issuer>) value;
+    }
+
+    /**
+     * Conversion applied to a response.
+     */
+    @FunctionalInterface
+    private interface Converter<S, T> {
+        T convert(S value) throws JsonDecodeFailure, ServerError;
     }
 }
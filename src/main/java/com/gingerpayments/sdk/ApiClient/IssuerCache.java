@@ -0,0 +1,132 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONArray;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stale-while-revalidate cache for the list of iDEAL issuers.
+ *
+ * Once the list has been retrieved, it is always served from memory. When it
+ * is older than the configured age, the next lookup starts a single
+ * background refresh, which asks the API whether the list changed using the
+ * ETag of the cached list. When a refresh fails, the last known list is
+ * served until a later refresh succeeds.
+ */
+public final class IssuerCache {
+    private final long staleAfterNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private volatile Snapshot snapshot;
+
+    /**
+     * @param staleAfter Age after which the cached list is refreshed in the background.
+     */
+    public IssuerCache(Duration staleAfter) {
+        this.staleAfterNanos = staleAfter.toNanos();
+    }
+
+    /**
+     * @return Whether an issuer list is cached.
+     */
+    public boolean isWarm() {
+        return snapshot != null;
+    }
+
+    /**
+     * @return Number of completed refreshes, including those that found the list unchanged.
+     */
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    /**
+     * @return Number of refreshes answered with <code>304 Not Modified</code>.
+     */
+    public long getNotModifiedCount() {
+        return notModified.sum();
+    }
+
+    /**
+     * @return Copy of the cached list, or <code>null</code> when the cache is cold.
+     */
+    JSONArray get() {
+        Snapshot current = snapshot;
+
+        return current == null ? null : new JSONArray(current.issuers);
+    }
+
+    /**
+     * @return ETag of the cached list, or <code>null</code> when unknown.
+     */
+    String getEtag() {
+        Snapshot current = snapshot;
+
+        return current == null ? null : current.etag;
+    }
+
+    /**
+     * Claim the refresh of a stale list.
+     *
+     * @return Whether the caller must refresh the list and then call
+     *         {@link #update(JSONArray, String)}, {@link #revalidated()} or
+     *         {@link #refreshFailed()}.
+     */
+    boolean tryStartRefresh() {
+        Snapshot current = snapshot;
+
+        return current != null
+            && System.nanoTime() - current.fetchedAt >= staleAfterNanos
+            && refreshing.compareAndSet(false, true);
+    }
+
+    /**
+     * Store a newly retrieved list.
+     *
+     * @param issuers The iDEAL issuers.
+     * @param etag ETag of the list, or <code>null</code> when the server sent none.
+     */
+    void update(JSONArray issuers, String etag) {
+        snapshot = new Snapshot(issuers.toString(), etag, System.nanoTime());
+        finishRefresh();
+    }
+
+    /**
+     * Mark the cached list as fresh, after the server reported it unchanged.
+     */
+    void revalidated() {
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(current.issuers, current.etag, System.nanoTime());
+        notModified.increment();
+        finishRefresh();
+    }
+
+    /**
+     * Keep serving the cached list after a failed refresh; the next lookup
+     * tries again.
+     */
+    void refreshFailed() {
+        refreshing.set(false);
+    }
+
+    private void finishRefresh() {
+        if (refreshing.compareAndSet(true, false)) {
+            refreshes.increment();
+        }
+    }
+
+    private static final class Snapshot {
+        private final String issuers;
+        private final String etag;
+        private final long fetchedAt;
+
+        private Snapshot(String issuers, String etag, long fetchedAt) {
+            this.issuers = issuers;
+            this.etag = etag;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * {@link JsonCodec} built on the Jackson streaming parser and generator.
+ *
+ * Jackson is not a dependency of this library; add
+ * <code>com.fasterxml.jackson.core:jackson-core</code> to your project to use
+ * this codec.
+ */
+public final class JacksonJsonCodec implements JsonCodec {
+    private final JsonFactory factory;
+
+    public JacksonJsonCodec() {
+        this(new JsonFactory());
+    }
+
+    /**
+     * @param factory Factory used to create parsers and generators, e.g. one
+     *                that is already configured in your application.
+     */
+    public JacksonJsonCodec(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public Object decode(InputStream body) throws IOException, JsonDecodeFailure {
+        try (JsonParser parser = factory.createParser(body)) {
+            // the HTTP client owns the body stream
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            JsonToken token = parser.nextToken();
+
+            if (token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                throw new JsonDecodeFailure(new JSONException("A JSON object or array was expected"));
+            }
+
+            Object value = readValue(parser);
+
+            if (parser.nextToken() != null) {
+                throw new JsonDecodeFailure(new JSONException("Unexpected data after the JSON document"));
+            }
+
+            return value;
+        } catch (JsonProcessingException exception) {
+            throw new JsonDecodeFailure(exception);
+        }
+    }
+
+    @Override
+    public void encode(JSONObject data, OutputStream out) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeValue(generator, data);
+        }
+    }
+
+    @Override
+    public JSONObject findError(String body) {
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+
+                if (parser.nextToken() == JsonToken.START_OBJECT && name.equals("error")) {
+                    return (JSONObject) readValue(parser);
+                }
+
+                parser.skipChildren();
+            }
+        } catch (IOException ignored) {
+            // not JSON, so not an API error message
+        }
+
+        return null;
+    }
+
+    /**
+     * Read the value at the current token as an org.json value.
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                JSONObject object = new JSONObject();
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    parser.nextToken();
+                    object.put(name, readValue(parser));
+                }
+
+                return object;
+            case START_ARRAY:
+                JSONArray array = new JSONArray();
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.put(readValue(parser));
+                }
+
+                return array;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                // same number types as the org.json parser produces
+                return JSONObject.stringToValue(parser.getText());
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return JSONObject.NULL;
+            default:
+                throw new JsonParseException(parser, "Unexpected token " + parser.currentToken());
+        }
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null || value == JSONObject.NULL) {
+            generator.writeNull();
+        } else if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            generator.writeStartObject();
+
+            for (String name : object.keySet()) {
+                generator.writeFieldName(name);
+                writeValue(generator, object.opt(name));
+            }
+
+            generator.writeEndObject();
+        } else if (value instanceof JSONArray) {
+            generator.writeStartArray();
+
+            for (Object element : (JSONArray) value) {
+                writeValue(generator, element);
+            }
+
+            generator.writeEndArray();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            generator.writeNumber((BigInteger) value);
+        } else if (value instanceof BigDecimal) {
+            generator.writeNumber((BigDecimal) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else {
+            // maps, collections, beans and JSONString values, as org.json writes them
+            generator.writeRawValue(JSONObject.valueToString(value));
+        }
+    }
+}
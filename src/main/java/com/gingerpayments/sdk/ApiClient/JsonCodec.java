@@ -0,0 +1,47 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes the JSON exchanged with the API.
+ *
+ * The client returns {@link JSONObject}s and {@link JSONArray}s, so a codec
+ * produces those; it replaces the parser and generator behind them. Codecs
+ * are shared by concurrent requests and must be thread-safe.
+ */
+public interface JsonCodec {
+    /**
+     * Decode a response body.
+     *
+     * @param body Response body stream.
+     * @return Decoded JSON object or array.
+     * @throws IOException When the body could not be read.
+     * @throws JsonDecodeFailure When the body is not a JSON object or array.
+     */
+    Object decode(InputStream body) throws IOException, JsonDecodeFailure;
+
+    /**
+     * Encode request data.
+     *
+     * @param data Request data.
+     * @param out  Request body stream; it is not closed.
+     * @throws IOException When the data could not be written.
+     */
+    void encode(JSONObject data, OutputStream out) throws IOException;
+
+    /**
+     * Look for an API error message in a response body that is not decoded
+     * otherwise, such as the body of an HTTP error response.
+     *
+     * @param body Response body.
+     * @return The <code>error</code> object of the response, or
+     *         <code>null</code> when the body is not a JSON object with an
+     *         error object.
+     */
+    JSONObject findError(String body);
+}
@@ -0,0 +1,561 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pull parser that reads JSON tokens straight from a response body, so
+ * values can be decoded without building a tree of {@link JSONObject}s first.
+ *
+ * Syntax errors are reported as {@link JSONException}, like org.json does.
+ */
+final class JsonReader {
+    enum Token {
+        BEGIN_OBJECT,
+        END_OBJECT,
+        BEGIN_ARRAY,
+        END_ARRAY,
+        NAME,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int DANGLING_NAME = 6;
+
+    private final Reader in;
+    private final char[] buffer = new char[4096];
+    private final StringBuilder text = new StringBuilder();
+    private int pos;
+    private int limit;
+    private int[] scopes = new int[16];
+    private int depth = 1;
+    private Token peeked;
+
+    JsonReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    JsonReader(Reader in) {
+        this.in = in;
+        this.scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return The type of the next token, without consuming it.
+     * @throws IOException When the input could not be read.
+     */
+    Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+
+        int scope = scopes[depth - 1];
+        int c;
+
+        switch (scope) {
+            case EMPTY_ARRAY:
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+
+                if (c != -1) {
+                    pos--;
+                }
+
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'");
+                }
+
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'");
+                    }
+
+                    c = nextNonWhitespace();
+                }
+
+                if (c != '"') {
+                    throw syntaxError("Expected a name");
+                }
+
+                scopes[depth - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+                break;
+            case EMPTY_DOCUMENT:
+                scopes[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (nextNonWhitespace() != -1) {
+                    throw syntaxError("Unexpected data after the JSON document");
+                }
+
+                return peeked = Token.END_DOCUMENT;
+        }
+
+        c = nextNonWhitespace();
+
+        switch (c) {
+            case '{':
+                return peeked = Token.BEGIN_OBJECT;
+            case '[':
+                return peeked = Token.BEGIN_ARRAY;
+            case '"':
+                return peeked = Token.STRING;
+            case 't':
+            case 'f':
+                pos--;
+                return peeked = Token.BOOLEAN;
+            case 'n':
+                pos--;
+                return peeked = Token.NULL;
+            case -1:
+                throw syntaxError("Unexpected end of input");
+            default:
+                if (JsonSyntax.isNumberStart(c)) {
+                    pos--;
+                    return peeked = Token.NUMBER;
+                }
+
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * @return Whether the current object or array has more elements.
+     * @throws IOException When the input could not be read.
+     */
+    boolean hasNext() throws IOException {
+        Token token = peek();
+
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    void beginObject() throws IOException {
+        consume(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    void endObject() throws IOException {
+        consume(Token.END_OBJECT);
+        depth--;
+    }
+
+    void beginArray() throws IOException {
+        consume(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    void endArray() throws IOException {
+        consume(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * @return The name of the next object member.
+     * @throws IOException When the input could not be read.
+     */
+    String nextName() throws IOException {
+        consume(Token.NAME);
+
+        return readString();
+    }
+
+    /**
+     * @return The next value as a string, or <code>null</code> for a JSON null.
+     *         Numbers and booleans are returned as they appear in the input.
+     * @throws IOException When the input could not be read.
+     */
+    String nextString() throws IOException {
+        switch (peek()) {
+            case STRING:
+                peeked = null;
+                return readString();
+            case NUMBER:
+                peeked = null;
+                return readNumber();
+            case BOOLEAN:
+                return Boolean.toString(nextBoolean());
+            case NULL:
+                nextNull();
+                return null;
+            default:
+                throw syntaxError("Expected a string but was " + peek());
+        }
+    }
+
+    /**
+     * @return The next value as a long; numeric strings are accepted as well.
+     * @throws IOException When the input could not be read.
+     */
+    long nextLong() throws IOException {
+        Token token = peek();
+        String number;
+
+        if (token == Token.STRING) {
+            peeked = null;
+            number = readString();
+        } else if (token == Token.NUMBER) {
+            peeked = null;
+            number = null;
+        } else {
+            throw syntaxError("Expected a number but was " + token);
+        }
+
+        if (number == null) {
+            long value = readLong();
+
+            if (value != Long.MIN_VALUE) {
+                return value;
+            }
+
+            number = readNumber();
+        }
+
+        try {
+            return new BigDecimal(number).longValueExact();
+        } catch (NumberFormatException | ArithmeticException exception) {
+            throw syntaxError("Expected an integer but was " + number);
+        }
+    }
+
+    boolean nextBoolean() throws IOException {
+        consume(Token.BOOLEAN);
+        boolean value = buffer[pos] == 't';
+        readLiteral(value ? "true" : "false");
+
+        return value;
+    }
+
+    void nextNull() throws IOException {
+        consume(Token.NULL);
+        readLiteral("null");
+    }
+
+    /**
+     * Skip the next value, including any nested objects and arrays.
+     *
+     * @throws IOException When the input could not be read.
+     */
+    void skipValue() throws IOException {
+        int nesting = 0;
+
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    nesting++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    nesting++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    nesting--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    nesting--;
+                    break;
+                case NAME:
+                    nextName();
+                    break;
+                case BOOLEAN:
+                    nextBoolean();
+                    break;
+                case NULL:
+                    nextNull();
+                    break;
+                case END_DOCUMENT:
+                    throw syntaxError("Unexpected end of input");
+                default:
+                    nextString();
+                    break;
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Read the next value as an org.json value, for parts of a response that
+     * have no dedicated model, such as error details.
+     *
+     * @return A {@link JSONObject}, {@link JSONArray}, string, number, boolean
+     *         or {@link JSONObject#NULL}.
+     * @throws IOException When the input could not be read.
+     */
+    Object readValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                JSONObject object = new JSONObject();
+                beginObject();
+
+                while (hasNext()) {
+                    object.put(nextName(), readValue());
+                }
+
+                endObject();
+                return object;
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                beginArray();
+
+                while (hasNext()) {
+                    array.put(readValue());
+                }
+
+                endArray();
+                return array;
+            case NUMBER:
+                return JSONObject.stringToValue(nextString());
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return JSONObject.NULL;
+            case STRING:
+                return nextString();
+            default:
+                throw syntaxError("Expected a value but was " + peek());
+        }
+    }
+
+    private void consume(Token expected) throws IOException {
+        if (peek() != expected) {
+            throw syntaxError("Expected " + expected + " but was " + peek());
+        }
+
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(scopes, 0, grown, 0, depth);
+            scopes = grown;
+        }
+
+        scopes[depth++] = scope;
+    }
+
+    /**
+     * Read a string whose opening quote was consumed.
+     */
+    private String readString() throws IOException {
+        text.setLength(0);
+
+        while (true) {
+            int start = pos;
+
+            while (pos < limit) {
+                char c = buffer[pos++];
+
+                if (c == '"') {
+                    if (text.length() == 0) {
+                        return new String(buffer, start, pos - 1 - start);
+                    }
+
+                    text.append(buffer, start, pos - 1 - start);
+                    return text.toString();
+                }
+
+                if (c == '\\') {
+                    text.append(buffer, start, pos - 1 - start);
+                    text.append(readEscape());
+                    start = pos;
+                } else if (JsonSyntax.isControl(c)) {
+                    throw syntaxError("Unescaped control character in string");
+                }
+            }
+
+            text.append(buffer, start, pos - start);
+
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+
+        if (c == 'u') {
+            int value = 0;
+
+            for (int i = 0; i < 4 && value >= 0; i++) {
+                value = JsonSyntax.unicodeDigit(value, read());
+            }
+
+            if (value < 0) {
+                throw syntaxError("Invalid unicode escape");
+            }
+
+            return (char) value;
+        }
+
+        int escaped = JsonSyntax.unescape(c);
+
+        if (escaped < 0) {
+            throw syntaxError("Invalid escape sequence");
+        }
+
+        return (char) escaped;
+    }
+
+    /**
+     * Read a plain integer without allocating.
+     *
+     * @return The integer, or {@link Long#MIN_VALUE} when the number has a
+     *         fraction or exponent, or does not fit; the input is then left
+     *         at the start of the number.
+     */
+    private long readLong() throws IOException {
+        if (pos == limit && !fill()) {
+            throw syntaxError("Unexpected end of input");
+        }
+
+        // numbers that cross the buffer boundary take the slow path
+        int end = pos;
+        boolean negative = buffer[end] == '-';
+
+        if (negative) {
+            end++;
+        }
+
+        long value = 0;
+        int digits = 0;
+
+        while (end < limit) {
+            char c = buffer[end];
+
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) {
+                    return Long.MIN_VALUE;
+                }
+
+                value = value * 10 + (c - '0');
+                digits++;
+                end++;
+            } else if (c == '.' || c == 'e' || c == 'E') {
+                return Long.MIN_VALUE;
+            } else {
+                break;
+            }
+        }
+
+        // leading zeros are left to readNumber, which rejects them
+        if (digits == 0 || end == limit || (digits > 1 && buffer[negative ? pos + 1 : pos] == '0')) {
+            return Long.MIN_VALUE;
+        }
+
+        pos = end;
+
+        return negative ? -value : value;
+    }
+
+    private String readNumber() throws IOException {
+        text.setLength(0);
+
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+
+            if (JsonSyntax.isNumberPart(c)) {
+                text.append(c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+
+        if (JsonSyntax.scanNumber(text, 0, text.length()) != text.length()) {
+            throw syntaxError("Invalid number '" + text + "'");
+        }
+
+        return text.toString();
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("Expected '" + literal + "'");
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+
+            if (!JsonSyntax.isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+
+        return buffer[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        pos = 0;
+        limit = 0;
+        int read = in.read(buffer, 0, buffer.length);
+
+        if (read <= 0) {
+            return false;
+        }
+
+        limit = read;
+        return true;
+    }
+
+    private static JSONException syntaxError(String message) {
+        return new JSONException(message);
+    }
+}
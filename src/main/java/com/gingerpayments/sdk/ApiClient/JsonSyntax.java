@@ -0,0 +1,126 @@
+package com.gingerpayments.sdk.ApiClient;
+
+/**
+ * Character classes and escape sequences of the JSON grammar, shared by
+ * {@link JsonReader} and {@link JsonView}.
+ */
+final class JsonSyntax {
+    private JsonSyntax() {}
+
+    static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * @return Whether a number may start with the character.
+     */
+    static boolean isNumberStart(int c) {
+        return c == '-' || (c >= '0' && c <= '9');
+    }
+
+    /**
+     * @return Whether the character may appear in a number.
+     */
+    static boolean isNumberPart(int c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    /**
+     * Scan a number: an optional minus sign, an integer part without leading
+     * zeros, and an optional fraction and exponent.
+     *
+     * @param text  Text that contains the number.
+     * @param start Offset of the first character of the number.
+     * @param end   Offset just past the last character that may be scanned.
+     * @return Offset just past the number, or <code>-1</code> when the text
+     *         at the offset is not a valid number.
+     */
+    static int scanNumber(CharSequence text, int start, int end) {
+        int pos = start;
+
+        if (pos < end && text.charAt(pos) == '-') {
+            pos++;
+        }
+
+        if (pos < end && text.charAt(pos) == '0') {
+            pos++;
+        } else {
+            pos = scanDigits(text, pos, end);
+        }
+
+        if (pos >= 0 && pos < end && text.charAt(pos) == '.') {
+            pos = scanDigits(text, pos + 1, end);
+        }
+
+        if (pos >= 0 && pos < end && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            pos++;
+
+            if (pos < end && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                pos++;
+            }
+
+            pos = scanDigits(text, pos, end);
+        }
+
+        return pos;
+    }
+
+    /**
+     * @return Offset just past one or more digits, or <code>-1</code> when
+     *         there is no digit at the offset.
+     */
+    private static int scanDigits(CharSequence text, int start, int end) {
+        int pos = start;
+
+        while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+            pos++;
+        }
+
+        return pos == start ? -1 : pos;
+    }
+
+    /**
+     * @return Whether the character must be escaped in a string.
+     */
+    static boolean isControl(int c) {
+        return c < 0x20;
+    }
+
+    /**
+     * @param c Character after a backslash, other than <code>u</code>.
+     * @return The escaped character, or <code>-1</code> when the escape
+     *         sequence is invalid.
+     */
+    static int unescape(int c) {
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @param value Value of the unicode escape read so far.
+     * @param c     Next hexadecimal digit of the escape.
+     * @return The value including the digit, or <code>-1</code> when it is
+     *         not a hexadecimal digit.
+     */
+    static int unicodeDigit(int value, int c) {
+        int digit = Character.digit(c, 16);
+
+        return digit < 0 ? -1 : (value << 4) | digit;
+    }
+}
@@ -0,0 +1,658 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read-only view of a JSON object or array that decodes values only when
+ * they are accessed.
+ *
+ * On first access, a view scans its own members once and records where each
+ * value starts; nested objects and arrays are skipped and only indexed when
+ * they are accessed themselves. The accessors follow {@link JSONObject} and
+ * {@link JSONArray}: <code>get</code> methods throw a {@link JSONException}
+ * when a value is missing or of the wrong type, <code>opt</code> methods
+ * return a default instead. Since the document is not parsed up front,
+ * malformed JSON is also reported as a {@link JSONException} when the
+ * affected part is accessed.
+ *
+ * Views are immutable and can be shared between threads.
+ */
+public final class JsonView {
+    private static final String[] LITERALS = {"true", "false", "null"};
+
+    private final String json;
+    private final int start;
+    private final int end;
+    private Index index;
+
+    private JsonView(String json, int start, int end) {
+        this.json = json;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param json JSON document.
+     * @return View of the document.
+     * @throws JsonDecodeFailure When the document is not a JSON object or array.
+     */
+    static JsonView of(String json) throws JsonDecodeFailure {
+        int first = skipWhitespace(json, 0, json.length());
+        int last = json.length() - 1;
+
+        while (last > first && JsonSyntax.isWhitespace(json.charAt(last))) {
+            last--;
+        }
+
+        if (first > last || !matches(json.charAt(first), json.charAt(last))) {
+            throw new JsonDecodeFailure(new JSONException("A JSON object or array was expected"));
+        }
+
+        return new JsonView(json, first, last + 1);
+    }
+
+    /**
+     * @return Whether this is a view of a JSON object; otherwise it is a view
+     *         of a JSON array.
+     */
+    public boolean isObject() {
+        return json.charAt(start) == '{';
+    }
+
+    /**
+     * @return Number of members of the object or elements of the array.
+     */
+    public int length() {
+        return index().size;
+    }
+
+    /**
+     * @return Names of the object members, in document order.
+     */
+    public List<String> names() {
+        Index index = index();
+
+        if (index.names == null) {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(index.names));
+    }
+
+    public boolean has(String name) {
+        return slot(name) >= 0;
+    }
+
+    /**
+     * @return Whether the member is missing or <code>null</code>.
+     */
+    public boolean isNull(String name) {
+        int slot = slot(name);
+
+        return slot < 0 || isNullAt(slot);
+    }
+
+    public String getString(String name) {
+        return stringAt(require(name), name);
+    }
+
+    public String optString(String name) {
+        return optString(name, "");
+    }
+
+    /**
+     * @return The member as a string; numbers and booleans are returned as
+     *         they appear in the document.
+     */
+    public String optString(String name, String defaultValue) {
+        int slot = slot(name);
+
+        if (slot < 0 || isNullAt(slot)) {
+            return defaultValue;
+        }
+
+        char first = json.charAt(index().starts[slot]);
+
+        if (first == '"') {
+            return decodeString(index().starts[slot]);
+        }
+
+        return first == '{' || first == '[' ? defaultValue : rawValue(slot);
+    }
+
+    public long getLong(String name) {
+        return longAt(require(name), name);
+    }
+
+    public long optLong(String name, long defaultValue) {
+        int slot = slot(name);
+
+        if (slot < 0 || isNullAt(slot)) {
+            return defaultValue;
+        }
+
+        try {
+            return longAt(slot, name);
+        } catch (JSONException exception) {
+            return defaultValue;
+        }
+    }
+
+    public int getInt(String name) {
+        return (int) getLong(name);
+    }
+
+    public boolean getBoolean(String name) {
+        return booleanAt(require(name), name);
+    }
+
+    public boolean optBoolean(String name) {
+        int slot = slot(name);
+
+        if (slot < 0 || isNullAt(slot)) {
+            return false;
+        }
+
+        try {
+            return booleanAt(slot, name);
+        } catch (JSONException exception) {
+            return false;
+        }
+    }
+
+    public JsonView getJSONObject(String name) {
+        return viewAt(require(name), '{', name, "JSONObject");
+    }
+
+    public JsonView optJSONObject(String name) {
+        int slot = slot(name);
+
+        return slot < 0 || json.charAt(index().starts[slot]) != '{' ? null : view(slot);
+    }
+
+    public JsonView getJSONArray(String name) {
+        return viewAt(require(name), '[', name, "JSONArray");
+    }
+
+    public JsonView optJSONArray(String name) {
+        int slot = slot(name);
+
+        return slot < 0 || json.charAt(index().starts[slot]) != '[' ? null : view(slot);
+    }
+
+    public boolean isNull(int position) {
+        return position < 0 || position >= length() || isNullAt(position);
+    }
+
+    public String getString(int position) {
+        return stringAt(require(position), position);
+    }
+
+    public long getLong(int position) {
+        return longAt(require(position), position);
+    }
+
+    public boolean getBoolean(int position) {
+        return booleanAt(require(position), position);
+    }
+
+    public JsonView getJSONObject(int position) {
+        return viewAt(require(position), '{', position, "JSONObject");
+    }
+
+    public JsonView optJSONObject(int position) {
+        if (position < 0 || position >= length() || json.charAt(index().starts[position]) != '{') {
+            return null;
+        }
+
+        return view(position);
+    }
+
+    public JsonView getJSONArray(int position) {
+        return viewAt(require(position), '[', position, "JSONArray");
+    }
+
+    /**
+     * Decode the whole object.
+     *
+     * @return The object as a {@link JSONObject}.
+     * @throws JSONException When this is not a view of an object.
+     */
+    public JSONObject toJSONObject() {
+        if (!isObject()) {
+            throw new JSONException("A JSON object was expected");
+        }
+
+        return new JSONObject(toString());
+    }
+
+    /**
+     * Decode the whole array.
+     *
+     * @return The array as a {@link JSONArray}.
+     * @throws JSONException When this is not a view of an array.
+     */
+    public JSONArray toJSONArray() {
+        if (isObject()) {
+            throw new JSONException("A JSON array was expected");
+        }
+
+        return new JSONArray(toString());
+    }
+
+    /**
+     * @return The JSON text of this view, as it appeared in the response.
+     */
+    @Override
+    public String toString() {
+        return json.substring(start, end);
+    }
+
+    private Index index() {
+        Index index = this.index;
+
+        if (index == null) {
+            index = buildIndex();
+            this.index = index;
+        }
+
+        return index;
+    }
+
+    /**
+     * Scan the members of this object or array, skipping over nested values.
+     */
+    private Index buildIndex() {
+        boolean object = isObject();
+        char close = object ? '}' : ']';
+        List<String> names = object ? new ArrayList<>() : null;
+        int[] starts = new int[8];
+        int[] ends = new int[8];
+        int size = 0;
+        int pos = skipWhitespace(json, start + 1, end);
+
+        if (pos < end && json.charAt(pos) == close) {
+            if (pos != end - 1) {
+                throw syntaxError("Unexpected data after the value", pos);
+            }
+
+            return new Index(null, starts, ends, 0);
+        }
+
+        while (true) {
+            if (object) {
+                if (pos >= end || json.charAt(pos) != '"') {
+                    throw syntaxError("Expected a name", pos);
+                }
+
+                int nameEnd = skipString(pos);
+                names.add(decodeString(pos));
+                pos = skipWhitespace(json, nameEnd, end);
+
+                if (pos >= end || json.charAt(pos) != ':') {
+                    throw syntaxError("Expected ':'", pos);
+                }
+
+                pos = skipWhitespace(json, pos + 1, end);
+            }
+
+            if (size == starts.length) {
+                starts = grow(starts);
+                ends = grow(ends);
+            }
+
+            starts[size] = pos;
+            pos = skipValue(pos);
+            ends[size++] = pos;
+            pos = skipWhitespace(json, pos, end);
+
+            if (pos >= end) {
+                throw syntaxError("Unexpected end of input", pos);
+            }
+
+            char c = json.charAt(pos);
+
+            if (c == close) {
+                if (pos != end - 1) {
+                    throw syntaxError("Unexpected data after the value", pos);
+                }
+
+                return new Index(object ? names.toArray(new String[0]) : null, starts, ends, size);
+            }
+
+            if (c != ',') {
+                throw syntaxError("Expected ',' or '" + close + "'", pos);
+            }
+
+            pos = skipWhitespace(json, pos + 1, end);
+        }
+    }
+
+    /**
+     * @return Offset just past the value that starts at the given offset.
+     */
+    private int skipValue(int pos) {
+        if (pos >= end) {
+            throw syntaxError("Unexpected end of input", pos);
+        }
+
+        char c = json.charAt(pos);
+
+        if (c == '"') {
+            return skipString(pos);
+        }
+
+        if (c == '{' || c == '[') {
+            return skipContainer(pos);
+        }
+
+        if (JsonSyntax.isNumberStart(c)) {
+            int numberEnd = JsonSyntax.scanNumber(json, pos, end);
+
+            if (numberEnd < 0) {
+                throw syntaxError("Invalid number", pos);
+            }
+
+            return numberEnd;
+        }
+
+        for (String literal : LITERALS) {
+            if (json.startsWith(literal, pos) && (pos + literal.length() == end || isDelimiter(json.charAt(pos + literal.length())))) {
+                return pos + literal.length();
+            }
+        }
+
+        throw syntaxError("Expected a value", pos);
+    }
+
+    /**
+     * Skip a nested object or array without indexing it, checking only that
+     * its brackets match.
+     *
+     * @return Offset just past the closing bracket of the object or array that
+     *         starts at the given offset.
+     */
+    private int skipContainer(int pos) {
+        char[] closers = new char[8];
+        int depth = 0;
+
+        while (pos < end) {
+            char c = json.charAt(pos);
+
+            if (c == '"') {
+                pos = skipString(pos);
+                continue;
+            }
+
+            if (c == '{' || c == '[') {
+                if (depth == closers.length) {
+                    closers = Arrays.copyOf(closers, depth * 2);
+                }
+
+                closers[depth++] = c == '{' ? '}' : ']';
+            } else if (c == '}' || c == ']') {
+                if (c != closers[--depth]) {
+                    throw syntaxError("Expected '" + closers[depth] + "'", pos);
+                }
+
+                if (depth == 0) {
+                    return pos + 1;
+                }
+            }
+
+            pos++;
+        }
+
+        throw syntaxError("Unterminated object or array", pos);
+    }
+
+    /**
+     * @return Offset just past the closing quote of the string that starts at
+     *         the given offset.
+     */
+    private int skipString(int quote) {
+        int pos = quote + 1;
+
+        while (pos < end) {
+            char c = json.charAt(pos);
+
+            if (c == '"') {
+                return pos + 1;
+            }
+
+            pos += c == '\\' ? 2 : 1;
+        }
+
+        throw syntaxError("Unterminated string", quote);
+    }
+
+    private String decodeString(int quote) {
+        int pos = quote + 1;
+        int chunk = pos;
+        StringBuilder decoded = null;
+
+        while (pos < end) {
+            char c = json.charAt(pos);
+
+            if (c == '"') {
+                if (decoded == null) {
+                    return json.substring(chunk, pos);
+                }
+
+                return decoded.append(json, chunk, pos).toString();
+            }
+
+            if (JsonSyntax.isControl(c)) {
+                throw syntaxError("Unescaped control character in string", pos);
+            }
+
+            if (c != '\\') {
+                pos++;
+                continue;
+            }
+
+            if (decoded == null) {
+                decoded = new StringBuilder();
+            }
+
+            decoded.append(json, chunk, pos);
+
+            if (pos + 1 >= end) {
+                break;
+            }
+
+            char escaped = json.charAt(pos + 1);
+            pos += 2;
+
+            if (escaped == 'u') {
+                int value = 0;
+
+                for (int i = 0; i < 4 && value >= 0; i++) {
+                    value = JsonSyntax.unicodeDigit(value, pos < end ? json.charAt(pos++) : -1);
+                }
+
+                if (value < 0) {
+                    throw syntaxError("Invalid unicode escape", pos);
+                }
+
+                decoded.append((char) value);
+            } else {
+                int unescaped = JsonSyntax.unescape(escaped);
+
+                if (unescaped < 0) {
+                    throw syntaxError("Invalid escape sequence", pos - 1);
+                }
+
+                decoded.append((char) unescaped);
+            }
+
+            chunk = pos;
+        }
+
+        throw syntaxError("Unterminated string", quote);
+    }
+
+    private int slot(String name) {
+        Index index = index();
+
+        if (index.names == null) {
+            throw new JSONException("A JSON object was expected");
+        }
+
+        for (int i = 0; i < index.size; i++) {
+            if (index.names[i].equals(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int require(String name) {
+        int slot = slot(name);
+
+        if (slot < 0) {
+            throw new JSONException("JSONObject[\"" + name + "\"] not found.");
+        }
+
+        return slot;
+    }
+
+    private int require(int position) {
+        Index index = index();
+
+        if (index.names != null) {
+            throw new JSONException("A JSON array was expected");
+        }
+
+        if (position < 0 || position >= index.size) {
+            throw new JSONException("JSONArray[" + position + "] not found.");
+        }
+
+        return position;
+    }
+
+    private boolean isNullAt(int slot) {
+        Index index = index();
+
+        return index.ends[slot] - index.starts[slot] == 4 && json.startsWith("null", index.starts[slot]);
+    }
+
+    private String rawValue(int slot) {
+        Index index = index();
+
+        return json.substring(index.starts[slot], index.ends[slot]);
+    }
+
+    private String stringAt(int slot, Object key) {
+        int valueStart = index().starts[slot];
+
+        if (json.charAt(valueStart) != '"') {
+            throw wrongType(key, "string");
+        }
+
+        return decodeString(valueStart);
+    }
+
+    private long longAt(int slot, Object key) {
+        int valueStart = index().starts[slot];
+        String number = json.charAt(valueStart) == '"' ? decodeString(valueStart) : rawValue(slot);
+
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException exception) {
+            try {
+                return new BigDecimal(number).longValue();
+            } catch (NumberFormatException notANumber) {
+                throw wrongType(key, "long");
+            }
+        }
+    }
+
+    private boolean booleanAt(int slot, Object key) {
+        int valueStart = index().starts[slot];
+        String value = json.charAt(valueStart) == '"' ? decodeString(valueStart) : rawValue(slot);
+
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+
+        throw wrongType(key, "Boolean");
+    }
+
+    private JsonView viewAt(int slot, char open, Object key, String type) {
+        if (json.charAt(index().starts[slot]) != open) {
+            throw wrongType(key, type);
+        }
+
+        return view(slot);
+    }
+
+    private JsonView view(int slot) {
+        Index index = index();
+
+        return new JsonView(json, index.starts[slot], index.ends[slot]);
+    }
+
+    private JSONException wrongType(Object key, String type) {
+        String container = key instanceof String ? "JSONObject[\"" + key + "\"]" : "JSONArray[" + key + "]";
+
+        return new JSONException(container + " is not a " + type + ".");
+    }
+
+    private static JSONException syntaxError(String message, int offset) {
+        return new JSONException(message + " at character " + offset);
+    }
+
+    private static int skipWhitespace(String json, int pos, int end) {
+        while (pos < end && JsonSyntax.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+
+        return pos;
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == '}' || c == ']' || JsonSyntax.isWhitespace(c);
+    }
+
+    private static boolean matches(char open, char close) {
+        return (open == '{' && close == '}') || (open == '[' && close == ']');
+    }
+
+    private static int[] grow(int[] offsets) {
+        int[] grown = new int[offsets.length * 2];
+        System.arraycopy(offsets, 0, grown, 0, offsets.length);
+
+        return grown;
+    }
+
+    /**
+     * Offsets of the members of a view; names are <code>null</code> for arrays.
+     */
+    private static final class Index {
+        private final String[] names;
+        private final int[] starts;
+        private final int[] ends;
+        private final int size;
+
+        private Index(String[] names, int[] starts, int[] ends, int size) {
+            this.names = names;
+            this.starts = starts;
+            this.ends = ends;
+            this.size = size;
+        }
+    }
+}
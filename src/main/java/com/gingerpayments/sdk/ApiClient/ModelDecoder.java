@@ -0,0 +1,334 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.gingerpayments.sdk.Model.Issuer;
+import com.gingerpayments.sdk.Model.Order;
+import com.gingerpayments.sdk.Model.Refund;
+import com.gingerpayments.sdk.Model.Transaction;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes API responses into typed models directly from the response body.
+ *
+ * Members are matched while they are read, and unknown members are skipped
+ * without being materialized. Members that are missing or <code>null</code>
+ * are <code>null</code> in the model, amounts included. An error response is returned as a
+ * {@link JSONObject} with an <code>error</code> member, so it can be handled
+ * like any other response.
+ */
+final class ModelDecoder {
+    private ModelDecoder() {}
+
+    /**
+     * @param body Response body.
+     * @return The decoded {@link Order}, or an error response.
+     * @throws IOException When the body could not be read.
+     * @throws JsonDecodeFailure When the body is not a JSON object.
+     */
+    static Object readOrder(InputStream body) throws IOException, JsonDecodeFailure {
+        return readResponse(body, (reader) -> {
+            Order.Builder order = Order.builder();
+            JSONObject error = readObject(reader, (name) -> orderMember(reader, order, name));
+
+            return error != null ? error : order.build();
+        });
+    }
+
+    /**
+     * @param body Response body.
+     * @return The decoded {@link Refund}, or an error response.
+     * @throws IOException When the body could not be read.
+     * @throws JsonDecodeFailure When the body is not a JSON object.
+     */
+    static Object readRefund(InputStream body) throws IOException, JsonDecodeFailure {
+        return readResponse(body, (reader) -> {
+            Refund.Builder refund = Refund.builder();
+            JSONObject error = readObject(reader, (name) -> refundMember(reader, refund, name));
+
+            return error != null ? error : refund.build();
+        });
+    }
+
+    /**
+     * @param body Response body.
+     * @return The decoded list of {@link Issuer}s, or an error response.
+     * @throws IOException When the body could not be read.
+     * @throws JsonDecodeFailure When the body is not a JSON array or object.
+     */
+    static Object readIssuers(InputStream body) throws IOException, JsonDecodeFailure {
+        return readResponse(body, (reader) -> {
+            if (reader.peek() == JsonReader.Token.BEGIN_OBJECT) {
+                // only error responses are objects
+                JSONObject error = readObject(reader, (name) -> {
+                    reader.skipValue();
+                    return true;
+                });
+
+                if (error == null) {
+                    throw new JSONException("A JSON array was expected");
+                }
+
+                return error;
+            }
+
+            return Collections.unmodifiableList(readList(reader, ModelDecoder::readIssuer));
+        });
+    }
+
+    private static Object readResponse(InputStream body, Decoder<Object> decoder) throws IOException, JsonDecodeFailure {
+        JsonReader reader = new JsonReader(body);
+
+        try {
+            Object value = decoder.decode(reader);
+
+            if (reader.peek() != JsonReader.Token.END_DOCUMENT) {
+                throw new JSONException("Unexpected data after the JSON document");
+            }
+
+            return value;
+        } catch (JSONException exception) {
+            throw new JsonDecodeFailure(exception);
+        }
+    }
+
+    /**
+     * Read the members of a top-level object.
+     *
+     * @return The error response, when the object has an <code>error</code> member.
+     */
+    private static JSONObject readObject(JsonReader reader, MemberDecoder members) throws IOException {
+        JSONObject error = null;
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+
+            if (name.equals("error")) {
+                error = new JSONObject().put("error", reader.readValue());
+            } else if (!members.decode(name)) {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return error;
+    }
+
+    private static boolean orderMember(JsonReader reader, Order.Builder order, String name) throws IOException {
+        switch (name) {
+            case "id":
+                order.id(reader.nextString());
+                return true;
+            case "project_id":
+                order.projectId(reader.nextString());
+                return true;
+            case "merchant_order_id":
+                order.merchantOrderId(reader.nextString());
+                return true;
+            case "status":
+                order.status(reader.nextString());
+                return true;
+            case "currency":
+                order.currency(reader.nextString());
+                return true;
+            case "amount":
+                order.amount(readAmount(reader));
+                return true;
+            case "description":
+                order.description(reader.nextString());
+                return true;
+            case "return_url":
+                order.returnUrl(reader.nextString());
+                return true;
+            case "order_url":
+                order.orderUrl(reader.nextString());
+                return true;
+            case "created":
+                order.created(reader.nextString());
+                return true;
+            case "modified":
+                order.modified(reader.nextString());
+                return true;
+            case "completed":
+                order.completed(reader.nextString());
+                return true;
+            case "flags":
+                order.flags(readList(reader, JsonReader::nextString));
+                return true;
+            case "transactions":
+                order.transactions(readList(reader, ModelDecoder::readTransaction));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean refundMember(JsonReader reader, Refund.Builder refund, String name) throws IOException {
+        switch (name) {
+            case "id":
+                refund.id(reader.nextString());
+                return true;
+            case "merchant_order_id":
+                refund.merchantOrderId(reader.nextString());
+                return true;
+            case "status":
+                refund.status(reader.nextString());
+                return true;
+            case "currency":
+                refund.currency(reader.nextString());
+                return true;
+            case "amount":
+                refund.amount(readAmount(reader));
+                return true;
+            case "description":
+                refund.description(reader.nextString());
+                return true;
+            case "created":
+                refund.created(reader.nextString());
+                return true;
+            case "transactions":
+                refund.transactions(readList(reader, ModelDecoder::readTransaction));
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Transaction readTransaction(JsonReader reader) throws IOException {
+        Transaction.Builder transaction = Transaction.builder();
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    transaction.id(reader.nextString());
+                    break;
+                case "status":
+                    transaction.status(reader.nextString());
+                    break;
+                case "reason":
+                    transaction.reason(reader.nextString());
+                    break;
+                case "payment_method":
+                    transaction.paymentMethod(reader.nextString());
+                    break;
+                case "payment_url":
+                    transaction.paymentUrl(reader.nextString());
+                    break;
+                case "currency":
+                    transaction.currency(reader.nextString());
+                    break;
+                case "amount":
+                    transaction.amount(readAmount(reader));
+                    break;
+                case "created":
+                    transaction.created(reader.nextString());
+                    break;
+                case "modified":
+                    transaction.modified(reader.nextString());
+                    break;
+                case "completed":
+                    transaction.completed(reader.nextString());
+                    break;
+                case "is_capturable":
+                    transaction.capturable(readBoolean(reader));
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return transaction.build();
+    }
+
+    private static Issuer readIssuer(JsonReader reader) throws IOException {
+        Issuer.Builder issuer = Issuer.builder();
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    issuer.id(reader.nextString());
+                    break;
+                case "name":
+                    issuer.name(reader.nextString());
+                    break;
+                case "list_type":
+                    issuer.listType(reader.nextString());
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+
+        return issuer.build();
+    }
+
+    /**
+     * @return The elements of an array; a JSON null is read as an empty list.
+     */
+    private static <T> List<T> readList(JsonReader reader, Decoder<T> element) throws IOException {
+        List<T> elements = new ArrayList<>();
+
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return elements;
+        }
+
+        reader.beginArray();
+
+        while (reader.hasNext()) {
+            elements.add(element.decode(reader));
+        }
+
+        reader.endArray();
+
+        return elements;
+    }
+
+    /**
+     * @return The amount in cents, or <code>null</code> for a JSON null.
+     */
+    private static Long readAmount(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextLong();
+    }
+
+    /**
+     * @return The boolean value, or <code>null</code> for a JSON null.
+     */
+    private static Boolean readBoolean(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextBoolean();
+    }
+
+    @FunctionalInterface
+    private interface Decoder<T> {
+        T decode(JsonReader reader) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface MemberDecoder {
+        boolean decode(String name) throws IOException;
+    }
+}
@@ -0,0 +1,143 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONObject;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-memory cache for orders, keyed by order ID.
+ *
+ * Entries expire after a fixed time to live; when the cache is full, the
+ * least recently used entry is evicted. Orders are stored in their serialized
+ * form, so every lookup returns a new copy that callers are free to modify.
+ */
+public final class OrderCache {
+    private final long ttlNanos;
+    private final Map<String, CachedOrder> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long invalidations;
+
+    /**
+     * @param maxSize Maximum number of cached orders.
+     * @param ttl How long an order is served from the cache.
+     */
+    public OrderCache(int maxSize, Duration ttl) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("At least one order must be cached");
+        }
+
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedOrder> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Remove an order from the cache.
+     *
+     * Responses to requests that started before the invalidation are not
+     * cached anymore.
+     *
+     * @param id The order ID.
+     */
+    public void invalidate(String id) {
+        synchronized (entries) {
+            entries.remove(id);
+            invalidations++;
+        }
+    }
+
+    /**
+     * @return Number of cached orders, including expired orders that were not evicted yet.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Number of lookups served from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of lookups that were not served from the cache.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @param id The order ID.
+     * @return Copy of the cached order, or <code>null</code> when it is not cached or expired.
+     */
+    JSONObject get(String id) {
+        CachedOrder entry;
+
+        synchronized (entries) {
+            entry = entries.get(id);
+
+            if (entry != null && System.nanoTime() - entry.expiresAt > 0) {
+                entries.remove(id);
+                entry = null;
+            }
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return new JSONObject(entry.order);
+    }
+
+    /**
+     * Take a token before loading an order, to be passed to
+     * {@link #put(String, JSONObject, long)}.
+     *
+     * @return Load token.
+     */
+    long loadToken() {
+        synchronized (entries) {
+            return invalidations;
+        }
+    }
+
+    /**
+     * Cache an order, unless an order was invalidated since the token was taken.
+     *
+     * @param id The order ID.
+     * @param order The order.
+     * @param token Token taken before the order was loaded.
+     */
+    void put(String id, JSONObject order, long token) {
+        CachedOrder entry = new CachedOrder(order.toString(), System.nanoTime() + ttlNanos);
+
+        synchronized (entries) {
+            if (token == invalidations) {
+                entries.put(id, entry);
+            }
+        }
+    }
+
+    private static final class CachedOrder {
+        private final String order;
+        private final long expiresAt;
+
+        private CachedOrder(String order, long expiresAt) {
+            this.order = order;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
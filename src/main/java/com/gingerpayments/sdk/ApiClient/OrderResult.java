@@ -0,0 +1,48 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONObject;
+
+/**
+ * Outcome of retrieving one order in a bulk request.
+ */
+public final class OrderResult {
+    private final String id;
+    private final JSONObject order;
+    private final Throwable failure;
+
+    OrderResult(String id, JSONObject order, Throwable failure) {
+        this.id = id;
+        this.order = order;
+        this.failure = failure;
+    }
+
+    /**
+     * @return The requested order ID.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return Whether the order was retrieved.
+     */
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    /**
+     * @return The order, or <code>null</code> when it could not be retrieved.
+     */
+    public JSONObject getOrder() {
+        return order;
+    }
+
+    /**
+     * @return Why the order could not be retrieved, usually an
+     *         {@link HttpRequestFailure}, {@link JsonDecodeFailure} or
+     *         {@link ServerError}; <code>null</code> on success.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+}
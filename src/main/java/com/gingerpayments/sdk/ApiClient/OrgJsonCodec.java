@@ -0,0 +1,74 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Default {@link JsonCodec}, built on the org.json parser.
+ */
+public final class OrgJsonCodec implements JsonCodec {
+    @Override
+    public Object decode(InputStream body) throws IOException, JsonDecodeFailure {
+        try {
+            JSONTokener tokener = new JSONTokener(body);
+            Object value = tokener.nextValue();
+
+            if (!(value instanceof JSONObject) && !(value instanceof JSONArray)) {
+                throw tokener.syntaxError("A JSON object or array was expected");
+            }
+
+            if (tokener.nextClean() != 0) {
+                throw tokener.syntaxError("Unexpected data after the JSON document");
+            }
+
+            return value;
+        } catch (JSONException exception) {
+            if (exception.getCause() instanceof IOException) {
+                throw (IOException) exception.getCause();
+            }
+
+            throw new JsonDecodeFailure(exception);
+        }
+    }
+
+    @Override
+    public void encode(JSONObject data, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+
+        try {
+            data.write(writer);
+        } catch (JSONException exception) {
+            if (exception.getCause() instanceof IOException) {
+                throw (IOException) exception.getCause();
+            }
+
+            throw exception;
+        }
+
+        writer.flush();
+    }
+
+    @Override
+    public JSONObject findError(String body) {
+        try {
+            Object value = new JSONTokener(body).nextValue();
+
+            if (value instanceof JSONObject) {
+                return ((JSONObject) value).optJSONObject("error");
+            }
+        } catch (JSONException ignored) {
+            // not JSON, so not an API error message
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.gingerpayments.sdk.HttpClient.HttpException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical GET requests share a single HTTP call.
+ *
+ * The first caller for a key executes the request and receives the decoded
+ * value. Callers that arrive while it is in flight wait for the same call.
+ * The decoded value is serialized once, and each of them gets its own copy,
+ * so callers can never modify each other's results.
+ */
+final class RequestCoalescer {
+    private final Map<String, Call> calls = new HashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @return Number of requests that joined an identical request in flight.
+     */
+    long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Execute a request, or wait for an identical request in flight.
+     *
+     * @param key    Request key, e.g. the request path.
+     * @param loader Executes and decodes the request.
+     * @param copy   Decodes a copy of the value from its serialized form.
+     * @return The decoded value.
+     * @throws HttpRequestFailure When an error occurred while processing the request.
+     * @throws JsonDecodeFailure When the response contained invalid JSON.
+     * @throws ServerError When the server returned an error message.
+     */
+    <T> T execute(String key, Loader<T> loader, Function<String, T> copy) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        Call call = new Call();
+        Call inFlight = join(key, call);
+
+        if (inFlight != null) {
+            return copy.apply(await(key, inFlight));
+        }
+
+        T value;
+
+        try {
+            value = loader.load();
+        } catch (Throwable exception) {
+            // settle on errors too, or the key would stay in flight forever
+            settle(key, call, null, exception);
+            throw exception;
+        }
+
+        settle(key, call, value, null);
+
+        return value;
+    }
+
+    /**
+     * Execute a request without blocking, or join an identical request in
+     * flight.
+     *
+     * Cancelling the returned future only cancels the HTTP call when no other
+     * caller is waiting for it.
+     *
+     * @param key    Request key, e.g. the request path.
+     * @param loader Starts the request.
+     * @param copy   Decodes a copy of the value from its serialized form.
+     * @return Future completed with the decoded value.
+     */
+    <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> loader, Function<String, T> copy) {
+        Call call = new Call();
+        Call inFlight = join(key, call);
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        if (inFlight != null) {
+            inFlight.snapshot.whenComplete((snapshot, exception) -> {
+                if (exception != null) {
+                    result.completeExceptionally(ApiClient.unwrap(exception));
+                } else {
+                    result.complete(copy.apply(snapshot));
+                }
+            });
+
+            return result;
+        }
+
+        CompletableFuture<T> request;
+
+        try {
+            request = loader.get();
+        } catch (RuntimeException exception) {
+            settle(key, call, null, exception);
+            result.completeExceptionally(exception);
+            return result;
+        } catch (Error error) {
+            settle(key, call, null, error);
+            throw error;
+        }
+
+        request.whenComplete((value, exception) -> {
+            Throwable failure = exception == null ? null : ApiClient.unwrap(exception);
+            settle(key, call, value, failure);
+
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((value, exception) -> {
+            if (result.isCancelled() && abandon(key, call)) {
+                request.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Stop sharing the request in flight for a key, e.g. because the resource
+     * was modified since it started.
+     *
+     * @param key Request key.
+     */
+    void forget(String key) {
+        synchronized (calls) {
+            calls.remove(key);
+        }
+    }
+
+    /**
+     * @return The call in flight for the key, or <code>null</code> when the
+     *         given call was registered and must be executed by the caller.
+     */
+    private Call join(String key, Call call) {
+        Call inFlight;
+
+        synchronized (calls) {
+            inFlight = calls.putIfAbsent(key, call);
+
+            if (inFlight == null) {
+                return null;
+            }
+
+            inFlight.followers++;
+        }
+
+        coalesced.increment();
+
+        return inFlight;
+    }
+
+    /**
+     * Hand the result of a call to the callers that joined it.
+     */
+    private void settle(String key, Call call, Object value, Throwable failure) {
+        synchronized (calls) {
+            calls.remove(key, call);
+
+            if (call.followers == 0) {
+                return;
+            }
+        }
+
+        if (failure != null) {
+            call.snapshot.completeExceptionally(failure);
+        } else {
+            call.snapshot.complete(String.valueOf(value));
+        }
+    }
+
+    /**
+     * @return Whether the call may be cancelled because nobody joined it.
+     */
+    private boolean abandon(String key, Call call) {
+        synchronized (calls) {
+            if (call.followers > 0) {
+                return false;
+            }
+
+            calls.remove(key, call);
+            return true;
+        }
+    }
+
+    private static String await(String key, Call call) throws HttpRequestFailure, JsonDecodeFailure, ServerError {
+        try {
+            return call.snapshot.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new HttpRequestFailure(new HttpException(-1, exception.toString(), key));
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof HttpRequestFailure) {
+                throw (HttpRequestFailure) cause;
+            }
+
+            if (cause instanceof JsonDecodeFailure) {
+                throw (JsonDecodeFailure) cause;
+            }
+
+            if (cause instanceof ServerError) {
+                throw (ServerError) cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new HttpRequestFailure(cause);
+        }
+    }
+
+    /**
+     * Executes and decodes a request.
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+        T load() throws HttpRequestFailure, JsonDecodeFailure, ServerError;
+    }
+
+    private static final class Call {
+        private final CompletableFuture<String> snapshot = new CompletableFuture<>();
+        private int followers;
+    }
+}
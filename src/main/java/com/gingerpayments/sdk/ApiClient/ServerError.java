@@ -6,16 +6,52 @@ import org.json.JSONObject;
  * Thrown when the API returns an error message.
  */
 public final class ServerError extends Exception {
+    private final String type;
+    private final String status;
+    private final String value;
+
     public ServerError(JSONObject error) {
-        super(formatMessage(error));
+        this(error, null);
+    }
+
+    /**
+     * @param error Error object returned by the API.
+     * @param cause HTTP error that carried the error object, if any.
+     */
+    public ServerError(JSONObject error, Throwable cause) {
+        super(formatMessage(error), cause);
+        this.type = error.optString("type");
+        this.status = error.optString("status");
+        this.value = error.optString("value");
+    }
+
+    /**
+     * @return Error type, e.g. <code>NotFound</code>.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return Error status as reported by the API.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Error description.
+     */
+    public String getValue() {
+        return value;
     }
 
     private static String formatMessage(JSONObject error) {
         return String.format(
                 "%s(%s): %s",
-                error.getString("type"),
-                error.getString("status"),
-                error.getString("value")
+                error.optString("type"),
+                error.optString("status"),
+                error.optString("value")
         );
     }
 }
@@ -1,12 +1,39 @@
 package com.gingerpayments.sdk;
 
 import com.gingerpayments.sdk.ApiClient.ApiClient;
+import com.gingerpayments.sdk.ApiClient.IssuerCache;
+import com.gingerpayments.sdk.ApiClient.JsonCodec;
+import com.gingerpayments.sdk.ApiClient.OrderCache;
+import com.gingerpayments.sdk.ApiClient.OrgJsonCodec;
+import com.gingerpayments.sdk.HttpClient.CircuitBreaker;
+import com.gingerpayments.sdk.HttpClient.CompressionPolicy;
+import com.gingerpayments.sdk.HttpClient.ConcurrencyLimit;
+import com.gingerpayments.sdk.HttpClient.GuardedHttpClient;
+import com.gingerpayments.sdk.HttpClient.HedgingHttpClient;
+import com.gingerpayments.sdk.HttpClient.HedgingPolicy;
+import com.gingerpayments.sdk.HttpClient.HttpClient;
+import com.gingerpayments.sdk.HttpClient.Instrumentation;
 import com.gingerpayments.sdk.HttpClient.OkHttpClient;
+import com.gingerpayments.sdk.HttpClient.RateLimitedHttpClient;
+import com.gingerpayments.sdk.HttpClient.RateLimiter;
+import com.gingerpayments.sdk.HttpClient.RetryPolicy;
+import com.gingerpayments.sdk.HttpClient.RetryingHttpClient;
 
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Ginger API client builder.
@@ -20,6 +47,15 @@ public final class Ginger {
      */
     private Ginger() {}
 
+    /**
+     * Create a builder for an API client with a custom HTTP configuration.
+     *
+     * @return New client builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
     /**
      * Create and configure a new API client.
      *
@@ -67,18 +103,514 @@ public final class Ginger {
      * @throws MalformedURLException When an invalid endpoint is supplied.
      */
     public static ApiClient createClient(URL endpoint, String apiKey, Map<String, String> defaultHeaders) throws MalformedURLException {
-        String userAgent = String.format(
-            "Ginger-Java/%s (%s, %s %s)",
-            CLIENT_VERSION,
-            System.getProperty("os.name"),
-            System.getProperty("java.runtime.name"),
-            System.getProperty("java.runtime.version")
-        );
-        Map<String, String> headers = new HashMap<>(defaultHeaders);
-        headers.put("User-Agent", userAgent);
-
-        return new ApiClient(
-            new OkHttpClient(new URL(endpoint, String.format("/%s", API_VERSION)), apiKey, headers)
-        );
+        return builder()
+            .endpoint(endpoint)
+            .apiKey(apiKey)
+            .defaultHeaders(defaultHeaders)
+            .build();
+    }
+
+    /**
+     * Builder for API clients with a custom HTTP configuration.
+     *
+     * Settings that are not configured keep the OkHttp defaults, or the
+     * settings of the OkHttp client supplied through {@link #httpClient}.
+     */
+    public static final class Builder {
+        private URL endpoint;
+        private String apiKey;
+        private Map<String, String> defaultHeaders = Map.of();
+        private okhttp3.OkHttpClient httpClient;
+        private ConnectionPool connectionPool;
+        private Integer maxRequests;
+        private Integer maxRequestsPerHost;
+        private ExecutorService executor;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        private Duration writeTimeout;
+        private Boolean http2;
+        private RetryPolicy retryPolicy;
+        private CircuitBreaker circuitBreaker;
+        private ConcurrencyLimit concurrencyLimit;
+        private HedgingPolicy hedgingPolicy;
+        private CompressionPolicy compressionPolicy;
+        private Instrumentation instrumentation;
+        private RateLimiter rateLimiter;
+        private Duration rateLimitMaxWait;
+        private int orderCacheSize;
+        private Duration orderCacheTtl;
+        private Duration issuerCacheStaleAfter;
+        private JsonCodec jsonCodec = new OrgJsonCodec();
+
+        private Builder() {}
+
+        /**
+         * @param endpoint Base API endpoint, without a trailing slash and version prefix.
+         * @return This builder.
+         * @throws MalformedURLException When an invalid endpoint is supplied.
+         */
+        public Builder endpoint(String endpoint) throws MalformedURLException {
+            return endpoint(new URL(endpoint));
+        }
+
+        /**
+         * @param endpoint Base API endpoint, without a trailing slash and version prefix.
+         * @return This builder.
+         */
+        public Builder endpoint(URL endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * @param apiKey Project API key.
+         * @return This builder.
+         */
+        public Builder apiKey(String apiKey) {
+            this.apiKey = apiKey;
+            return this;
+        }
+
+        /**
+         * @param defaultHeaders HTTP headers that should be included in all requests.
+         * @return This builder.
+         */
+        public Builder defaultHeaders(Map<String, String> defaultHeaders) {
+            this.defaultHeaders = defaultHeaders;
+            return this;
+        }
+
+        /**
+         * Execute requests with an existing OkHttp client, sharing its
+         * connection pool and dispatcher threads.
+         *
+         * Other settings on this builder are applied to a derived client and
+         * do not modify the supplied one.
+         *
+         * @param httpClient OkHttp client to share.
+         * @return This builder.
+         */
+        public Builder httpClient(okhttp3.OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * @param maxIdleConnections Maximum number of idle connections kept in the pool.
+         * @param keepAlive How long idle connections are kept in the pool.
+         * @return This builder.
+         */
+        public Builder connectionPool(int maxIdleConnections, Duration keepAlive) {
+            this.connectionPool = new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS);
+            return this;
+        }
+
+        /**
+         * @param maxRequests Maximum number of concurrently executing asynchronous requests.
+         * @return This builder.
+         */
+        public Builder maxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * @param maxRequestsPerHost Maximum number of concurrently executing asynchronous requests per host.
+         * @return This builder.
+         */
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Run asynchronous requests on the given executor instead of the
+         * transport's own thread pool.
+         *
+         * The executor is not shut down by the client. Combine it with
+         * {@link #maxRequests} and {@link #maxRequestsPerHost} to allow more
+         * requests in flight than the OkHttp defaults.
+         *
+         * @param executor Executor for asynchronous requests.
+         * @return This builder.
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Run asynchronous requests on virtual threads, one per request.
+         *
+         * @return This builder.
+         * @throws UnsupportedOperationException When the runtime does not support virtual threads (before Java 21).
+         */
+        public Builder virtualThreads() {
+            Method factory;
+
+            try {
+                factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            } catch (NoSuchMethodException exception) {
+                throw new UnsupportedOperationException("Virtual threads require Java 21 or later", exception);
+            }
+
+            try {
+                return executor((ExecutorService) factory.invoke(null));
+            } catch (ReflectiveOperationException exception) {
+                throw new IllegalStateException("Could not create a virtual thread executor", exception);
+            }
+        }
+
+        /**
+         * @param connectTimeout Timeout for establishing new connections.
+         * @return This builder.
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * @param readTimeout Timeout between bytes received from the server.
+         * @return This builder.
+         */
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * @param writeTimeout Timeout between bytes sent to the server.
+         * @return This builder.
+         */
+        public Builder writeTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+            return this;
+        }
+
+        /**
+         * @param http2 Whether to prefer HTTP/2 when the server supports it,
+         *              or to use HTTP/1.1 only.
+         * @return This builder.
+         */
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Retry failed requests, e.g. after I/O errors or when the API is
+         * temporarily unavailable.
+         *
+         * @param retryPolicy Retry policy.
+         * @return This builder.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Fail fast while the API is failing or slow.
+         *
+         * With a tenant factory, all tenants share this circuit breaker.
+         *
+         * @param circuitBreaker Circuit breaker.
+         * @return This builder.
+         */
+        public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Reject requests beyond an adaptive limit of in-flight requests per
+         * endpoint.
+         *
+         * With a tenant factory, all tenants share this limit.
+         *
+         * @param concurrencyLimit Concurrency limit.
+         * @return This builder.
+         */
+        public Builder concurrencyLimit(ConcurrencyLimit concurrencyLimit) {
+            this.concurrencyLimit = concurrencyLimit;
+            return this;
+        }
+
+        /**
+         * Send a second request when a GET request is slow, and use whichever
+         * response arrives first.
+         *
+         * With a tenant factory, all tenants share the hedge budget and statistics.
+         * Blocking requests send the original request on the calling thread;
+         * hedges are asynchronous requests, limited by {@link #maxRequestsPerHost}.
+         *
+         * @param hedgingPolicy Hedging policy.
+         * @return This builder.
+         */
+        public Builder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Request gzip compressed responses, and compress large request
+         * bodies.
+         *
+         * With a tenant factory, all tenants share the compression statistics.
+         *
+         * @param compressionPolicy Compression policy.
+         * @return This builder.
+         */
+        public Builder compressionPolicy(CompressionPolicy compressionPolicy) {
+            this.compressionPolicy = compressionPolicy;
+            return this;
+        }
+
+        /**
+         * Report the latency, status and size of every HTTP exchange, e.g. to
+         * a {@link com.gingerpayments.sdk.HttpClient.MetricsRecorder}.
+         *
+         * With a tenant factory, all tenants report to the same instrumentation.
+         *
+         * @param instrumentation Instrumentation.
+         * @return This builder.
+         */
+        public Builder instrumentation(Instrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
+        /**
+         * Pace requests with a token bucket per API key, which backs off on
+         * <code>429 Too Many Requests</code> responses.
+         *
+         * Requests wait up to the rate limiter's maximum wait for a token.
+         * Clients built with the same rate limiter and API key share a bucket.
+         *
+         * @param rateLimiter Rate limiter.
+         * @return This builder.
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.rateLimitMaxWait = null;
+            return this;
+        }
+
+        /**
+         * Pace requests with a token bucket per API key, with a maximum wait
+         * for this client, e.g. to fail fast in interactive traffic while
+         * batch jobs sharing the rate limiter wait for a token.
+         *
+         * @param rateLimiter Rate limiter.
+         * @param maxWait How long requests may wait for a token; {@link Duration#ZERO} fails fast.
+         * @return This builder.
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter, Duration maxWait) {
+            this.rateLimiter = rateLimiter;
+            this.rateLimitMaxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Cache orders retrieved with {@link ApiClient#getOrder(String)}.
+         *
+         * Orders are cached per client, so tenants created by a tenant factory
+         * never see each other's orders.
+         *
+         * @param maxSize Maximum number of cached orders per client.
+         * @param ttl How long an order is served from the cache.
+         * @return This builder.
+         */
+        public Builder orderCache(int maxSize, Duration ttl) {
+            this.orderCacheSize = maxSize;
+            this.orderCacheTtl = ttl;
+            return this;
+        }
+
+        /**
+         * Serve the iDEAL issuers from memory, refreshing them in the
+         * background once they are older than the given age.
+         *
+         * With a tenant factory, all tenants share the cached issuers.
+         *
+         * @param staleAfter Age after which the cached issuers are refreshed.
+         * @return This builder.
+         */
+        public Builder issuerCache(Duration staleAfter) {
+            this.issuerCacheStaleAfter = staleAfter;
+            return this;
+        }
+
+        /**
+         * Use a different JSON library to read and write request and response
+         * bodies, e.g. {@link com.gingerpayments.sdk.ApiClient.JacksonJsonCodec}.
+         *
+         * Defaults to {@link OrgJsonCodec}.
+         *
+         * @param jsonCodec JSON codec, shared by all clients created by this builder.
+         * @return This builder.
+         */
+        public Builder jsonCodec(JsonCodec jsonCodec) {
+            this.jsonCodec = jsonCodec;
+            return this;
+        }
+
+        /**
+         * Create the configured API client.
+         *
+         * @return Configured API client.
+         * @throws MalformedURLException When an invalid endpoint is supplied.
+         */
+        public ApiClient build() throws MalformedURLException {
+            if (apiKey == null) {
+                throw new IllegalStateException("An API key is required");
+            }
+
+            return createClient(buildTransport(), versionedEndpoint(), headers(), apiKey, issuerCache());
+        }
+
+        /**
+         * Create a factory for API clients of multiple projects.
+         *
+         * All clients created by the factory share one HTTP transport, i.e. one
+         * connection pool and dispatcher; only the API key differs per client.
+         * The API key configured on this builder, if any, is ignored.
+         *
+         * @param maxCachedClients Maximum number of clients kept for reuse.
+         * @return Configured client factory.
+         * @throws MalformedURLException When an invalid endpoint is supplied.
+         */
+        public TenantClientFactory buildTenantFactory(int maxCachedClients) throws MalformedURLException {
+            okhttp3.OkHttpClient transport = buildTransport();
+            URL versionedEndpoint = versionedEndpoint();
+            Map<String, String> headers = headers();
+            IssuerCache issuerCache = issuerCache();
+
+            return new TenantClientFactory(
+                tenantApiKey -> createClient(transport, versionedEndpoint, headers, tenantApiKey, issuerCache),
+                maxCachedClients
+            );
+        }
+
+        private ApiClient createClient(
+            okhttp3.OkHttpClient transport,
+            URL versionedEndpoint,
+            Map<String, String> headers,
+            String apiKey,
+            IssuerCache issuerCache
+        ) {
+            HttpClient httpClient = new OkHttpClient(
+                transport,
+                HttpUrl.parse(versionedEndpoint.toString()),
+                apiKey,
+                headers,
+                compressionPolicy,
+                instrumentation
+            );
+
+            if (circuitBreaker != null || concurrencyLimit != null) {
+                httpClient = new GuardedHttpClient(httpClient, circuitBreaker, concurrencyLimit);
+            }
+
+            if (rateLimiter != null) {
+                httpClient = rateLimitMaxWait == null
+                    ? new RateLimitedHttpClient(httpClient, rateLimiter, apiKey)
+                    : new RateLimitedHttpClient(httpClient, rateLimiter, apiKey, rateLimitMaxWait);
+            }
+
+            if (hedgingPolicy != null) {
+                httpClient = new HedgingHttpClient(httpClient, hedgingPolicy);
+            }
+
+            if (retryPolicy != null) {
+                httpClient = new RetryingHttpClient(httpClient, retryPolicy);
+            }
+
+            return new ApiClient(
+                httpClient,
+                orderCacheTtl == null ? null : new OrderCache(orderCacheSize, orderCacheTtl),
+                issuerCache,
+                jsonCodec
+            );
+        }
+
+        private IssuerCache issuerCache() {
+            return issuerCacheStaleAfter == null ? null : new IssuerCache(issuerCacheStaleAfter);
+        }
+
+        private URL versionedEndpoint() throws MalformedURLException {
+            if (endpoint == null) {
+                throw new IllegalStateException("An endpoint is required");
+            }
+
+            return new URL(endpoint, String.format("/%s", API_VERSION));
+        }
+
+        private Map<String, String> headers() {
+            String userAgent = String.format(
+                "Ginger-Java/%s (%s, %s %s)",
+                CLIENT_VERSION,
+                System.getProperty("os.name"),
+                System.getProperty("java.runtime.name"),
+                System.getProperty("java.runtime.version")
+            );
+            Map<String, String> headers = new HashMap<>(defaultHeaders);
+            headers.put("User-Agent", userAgent);
+
+            return headers;
+        }
+
+        private okhttp3.OkHttpClient buildTransport() {
+            okhttp3.OkHttpClient.Builder builder = httpClient == null
+                ? new okhttp3.OkHttpClient.Builder()
+                : httpClient.newBuilder();
+
+            if (connectionPool != null) {
+                builder.connectionPool(connectionPool);
+            }
+
+            if (executor != null || maxRequests != null || maxRequestsPerHost != null) {
+                // a dedicated dispatcher keeps the limits of a shared client intact,
+                // while still running calls on its threads
+                Dispatcher dispatcher;
+
+                if (executor != null) {
+                    dispatcher = new Dispatcher(executor);
+                } else if (httpClient != null) {
+                    dispatcher = new Dispatcher(httpClient.dispatcher().executorService());
+                } else {
+                    dispatcher = new Dispatcher();
+                }
+
+                if (maxRequests != null) {
+                    dispatcher.setMaxRequests(maxRequests);
+                }
+
+                if (maxRequestsPerHost != null) {
+                    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+                }
+
+                builder.dispatcher(dispatcher);
+            }
+
+            if (connectTimeout != null) {
+                builder.connectTimeout(connectTimeout);
+            }
+
+            if (readTimeout != null) {
+                builder.readTimeout(readTimeout);
+            }
+
+            if (writeTimeout != null) {
+                builder.writeTimeout(writeTimeout);
+            }
+
+            if (http2 != null) {
+                builder.protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1));
+            }
+
+            return builder.build();
+        }
     }
 }
@@ -0,0 +1,114 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link HttpClient}.
+ *
+ * Instead of throwing, the returned futures are completed exceptionally with
+ * an {@link HttpException} when an error occurred while executing the request.
+ */
+public interface AsyncHttpClient {
+    /**
+     * Submit an HTTP request without blocking the calling thread.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @return Future completed with the response body
+     */
+    default CompletableFuture<String> requestAsync(String method, String path) {
+        return requestAsync(method, path, null, null);
+    }
+
+    /**
+     * Submit an HTTP request with additional headers without blocking the
+     * calling thread.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @param headers Request headers
+     * @return Future completed with the response body
+     */
+    default CompletableFuture<String> requestAsync(String method, String path, Map<String, String> headers) {
+        return requestAsync(method, path, headers, null);
+    }
+
+    /**
+     * Submit an HTTP request with additional headers and a request body
+     * without blocking the calling thread.
+     *
+     * Cancelling the returned future should cancel the underlying request.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @param headers Request headers
+     * @param data Request body
+     * @return Future completed with the response body
+     */
+    CompletableFuture<String> requestAsync(String method, String path, Map<String, String> headers, String data);
+
+    /**
+     * Submit an HTTP request without blocking the calling thread and decode
+     * the response body while it is read.
+     *
+     * Exceptions thrown by the reader complete the returned future
+     * exceptionally. The default implementation falls back to
+     * {@link #requestAsync(String, String, Map, String)}, which buffers both
+     * the request and the response body.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @param headers Request headers
+     * @param data Request body writer, or <code>null</code> for requests without a body
+     * @param reader Response body decoder
+     * @param <T> Decoded value type
+     * @return Future completed with the decoded response body, or with
+     *         <code>null</code> when the response has no body
+     */
+    default <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<String> request;
+
+        try {
+            request = requestAsync(method, path, headers, data == null ? null : data.writeToString());
+        } catch (IOException exception) {
+            result.completeExceptionally(new HttpException(-1, exception.toString(), path));
+            return result;
+        }
+
+        request.whenComplete((response, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception);
+                return;
+            }
+
+            if (response == null || response.isEmpty()) {
+                result.complete(null);
+                return;
+            }
+
+            try {
+                result.complete(reader.read(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8))));
+            } catch (Exception readException) {
+                result.completeExceptionally(readException);
+            }
+        });
+        result.whenComplete((response, exception) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+
+        return result;
+    }
+}
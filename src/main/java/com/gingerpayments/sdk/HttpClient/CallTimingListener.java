@@ -0,0 +1,239 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+/**
+ * Event listener that timestamps the phases of one call, and forwards every
+ * event to the listener the OkHttp client was configured with.
+ *
+ * Timestamps are kept relative to the start of the call; <code>-1</code>
+ * means the event did not occur. When a phase occurs more than once, e.g.
+ * when OkHttp retries on another connection, the last occurrence is kept.
+ */
+final class CallTimingListener extends EventListener {
+    private static final long NONE = -1;
+
+    private final EventListener delegate;
+    private final long start = System.nanoTime();
+    private long dnsStart = NONE;
+    private long dnsEnd = NONE;
+    private long connectStart = NONE;
+    private long secureConnectStart = NONE;
+    private long secureConnectEnd = NONE;
+    private long connectEnd = NONE;
+    private long connectionAcquired = NONE;
+    private long requestStart = NONE;
+    private long requestEnd = NONE;
+    private long responseHeadersStart = NONE;
+    private long responseBodyStart = NONE;
+    private long responseBodyEnd = NONE;
+    private long callEnd = NONE;
+
+    CallTimingListener(EventListener delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return Timings of the phases so far; the total is measured until now
+     *         when the call has not ended yet.
+     */
+    CallTimings timings() {
+        long end = callEnd != NONE ? callEnd : now();
+
+        return new CallTimings(
+            between(dnsStart, dnsEnd),
+            between(connectStart, secureConnectStart != NONE ? secureConnectStart : connectEnd),
+            between(secureConnectStart, secureConnectEnd),
+            between(0, connectionAcquired),
+            between(requestStart, requestEnd),
+            between(requestEnd, responseHeadersStart),
+            between(responseBodyStart, responseBodyEnd),
+            end,
+            connectionAcquired != NONE && connectStart == NONE
+        );
+    }
+
+    private long now() {
+        return System.nanoTime() - start;
+    }
+
+    private static long between(long from, long to) {
+        return from == NONE || to == NONE ? NONE : Math.max(0, to - from);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        delegate.callStart(call);
+    }
+
+    @Override
+    public void proxySelectStart(Call call, HttpUrl url) {
+        delegate.proxySelectStart(call, url);
+    }
+
+    @Override
+    public void proxySelectEnd(Call call, HttpUrl url, List<Proxy> proxies) {
+        delegate.proxySelectEnd(call, url, proxies);
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = now();
+        delegate.dnsStart(call, domainName);
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+        dnsEnd = now();
+        delegate.dnsEnd(call, domainName, addresses);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+        connectStart = now();
+        secureConnectStart = NONE;
+        secureConnectEnd = NONE;
+        delegate.connectStart(call, address, proxy);
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = now();
+        delegate.secureConnectStart(call);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        secureConnectEnd = now();
+        delegate.secureConnectEnd(call, handshake);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+        connectEnd = now();
+        delegate.connectEnd(call, address, proxy, protocol);
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol, IOException exception) {
+        delegate.connectFailed(call, address, proxy, protocol, exception);
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        connectionAcquired = now();
+        delegate.connectionAcquired(call, connection);
+    }
+
+    @Override
+    public void connectionReleased(Call call, Connection connection) {
+        delegate.connectionReleased(call, connection);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = now();
+        requestEnd = NONE;
+        delegate.requestHeadersStart(call);
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        requestEnd = now();
+        delegate.requestHeadersEnd(call, request);
+    }
+
+    @Override
+    public void requestBodyStart(Call call) {
+        delegate.requestBodyStart(call);
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        requestEnd = now();
+        delegate.requestBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void requestFailed(Call call, IOException exception) {
+        delegate.requestFailed(call, exception);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        responseHeadersStart = now();
+        delegate.responseHeadersStart(call);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        delegate.responseHeadersEnd(call, response);
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStart = now();
+        delegate.responseBodyStart(call);
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        responseBodyEnd = now();
+        delegate.responseBodyEnd(call, byteCount);
+    }
+
+    @Override
+    public void responseFailed(Call call, IOException exception) {
+        delegate.responseFailed(call, exception);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        callEnd = now();
+        delegate.callEnd(call);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException exception) {
+        callEnd = now();
+        delegate.callFailed(call, exception);
+    }
+
+    @Override
+    public void canceled(Call call) {
+        delegate.canceled(call);
+    }
+
+    @Override
+    public void satisfactionFailure(Call call, Response response) {
+        delegate.satisfactionFailure(call, response);
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        delegate.cacheHit(call, response);
+    }
+
+    @Override
+    public void cacheMiss(Call call) {
+        delegate.cacheMiss(call);
+    }
+
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        delegate.cacheConditionalHit(call, cachedResponse);
+    }
+}
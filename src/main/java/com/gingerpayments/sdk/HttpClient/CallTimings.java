@@ -0,0 +1,121 @@
+package com.gingerpayments.sdk.HttpClient;
+
+/**
+ * Time spent in each phase of one HTTP exchange, in nanoseconds.
+ *
+ * Phases that did not take place, such as DNS, connect and TLS on a reused
+ * connection, are reported as <code>-1</code>.
+ */
+public final class CallTimings {
+    private final long dnsNanos;
+    private final long connectNanos;
+    private final long tlsNanos;
+    private final long acquireConnectionNanos;
+    private final long requestNanos;
+    private final long timeToFirstByteNanos;
+    private final long responseBodyNanos;
+    private final long totalNanos;
+    private final boolean connectionReused;
+
+    CallTimings(
+        long dnsNanos,
+        long connectNanos,
+        long tlsNanos,
+        long acquireConnectionNanos,
+        long requestNanos,
+        long timeToFirstByteNanos,
+        long responseBodyNanos,
+        long totalNanos,
+        boolean connectionReused
+    ) {
+        this.dnsNanos = dnsNanos;
+        this.connectNanos = connectNanos;
+        this.tlsNanos = tlsNanos;
+        this.acquireConnectionNanos = acquireConnectionNanos;
+        this.requestNanos = requestNanos;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.responseBodyNanos = responseBodyNanos;
+        this.totalNanos = totalNanos;
+        this.connectionReused = connectionReused;
+    }
+
+    /**
+     * @return Time spent resolving the host name.
+     */
+    public long getDnsNanos() {
+        return dnsNanos;
+    }
+
+    /**
+     * @return Time spent establishing the TCP connection, excluding TLS.
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return Time spent in the TLS handshake.
+     */
+    public long getTlsNanos() {
+        return tlsNanos;
+    }
+
+    /**
+     * @return Time from the start of the call until a connection was
+     *         acquired: the wait for a pooled connection, or the DNS, connect
+     *         and TLS phases of a new one.
+     */
+    public long getAcquireConnectionNanos() {
+        return acquireConnectionNanos;
+    }
+
+    /**
+     * @return Time spent writing the request headers and body.
+     */
+    public long getRequestNanos() {
+        return requestNanos;
+    }
+
+    /**
+     * @return Time from the end of the request until the response headers
+     *         started to arrive, i.e. the server time plus a round trip.
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * @return Time spent reading the response body.
+     */
+    public long getResponseBodyNanos() {
+        return responseBodyNanos;
+    }
+
+    /**
+     * @return Time from the start until the end of the call.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return Whether a pooled connection was reused instead of opening a new one.
+     */
+    public boolean isConnectionReused() {
+        return connectionReused;
+    }
+
+    @Override
+    public String toString() {
+        return "CallTimings{dns=" + dnsNanos
+            + ", connect=" + connectNanos
+            + ", tls=" + tlsNanos
+            + ", acquireConnection=" + acquireConnectionNanos
+            + ", request=" + requestNanos
+            + ", timeToFirstByte=" + timeToFirstByteNanos
+            + ", responseBody=" + responseBodyNanos
+            + ", total=" + totalNanos
+            + ", connectionReused=" + connectionReused
+            + "}";
+    }
+}
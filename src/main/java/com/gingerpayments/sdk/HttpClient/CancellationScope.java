@@ -0,0 +1,89 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.Call;
+
+/**
+ * Lets another thread cancel the blocking request that is executed on the
+ * thread that opened the scope, such as the original request of a hedged GET
+ * after its hedge has won.
+ *
+ * {@link OkHttpClient} registers its blocking calls with the scope of the
+ * calling thread, if any; decorators can ask whether a failure was caused by
+ * cancelling the scope.
+ */
+final class CancellationScope implements AutoCloseable {
+    private static final ThreadLocal<CancellationScope> CURRENT = new ThreadLocal<>();
+
+    private final CancellationScope outer;
+    private Call call;
+    private boolean cancelled;
+
+    private CancellationScope(CancellationScope outer) {
+        this.outer = outer;
+    }
+
+    /**
+     * @return New scope for the calling thread, until it is closed.
+     */
+    static CancellationScope open() {
+        CancellationScope scope = new CancellationScope(CURRENT.get());
+        CURRENT.set(scope);
+
+        return scope;
+    }
+
+    /**
+     * Register a call that is about to be executed on the calling thread; it
+     * is cancelled right away when the scope already is.
+     *
+     * @param call OkHttp call
+     */
+    static void register(Call call) {
+        CancellationScope scope = CURRENT.get();
+
+        if (scope != null) {
+            scope.setCall(call);
+        }
+    }
+
+    /**
+     * @return Whether the scope of the calling thread has been cancelled.
+     */
+    static boolean isCancelled() {
+        CancellationScope scope = CURRENT.get();
+
+        return scope != null && scope.cancelled();
+    }
+
+    /**
+     * Cancel the call that executes in this scope, and any call registered later.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    private synchronized void setCall(Call call) {
+        this.call = call;
+
+        if (cancelled) {
+            call.cancel();
+        }
+    }
+
+    private synchronized boolean cancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,218 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * The breaker keeps the outcome of the most recent calls. Once the share of
+ * failed or slow calls reaches the threshold, the breaker opens and rejects
+ * all calls for the configured duration. It then lets a single trial call
+ * through: when the trial succeeds the breaker closes again, otherwise it
+ * stays open for another period.
+ *
+ * The breaker only guards state transitions with a lock; it never holds the
+ * lock while a request is executed.
+ */
+public final class CircuitBreaker {
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final boolean[] outcomes;
+    private int index;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private CircuitBreaker(Builder builder) {
+        this.outcomes = new boolean[builder.windowSize];
+        this.minimumCalls = builder.minimumCalls;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallNanos = builder.slowCallThreshold.toNanos();
+        this.openNanos = builder.openDuration.toNanos();
+    }
+
+    /**
+     * @return New circuit breaker builder, initialized with the default settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Current state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Ask for permission to execute a call.
+     *
+     * Every permitted call must be followed by a call to {@link #record} or
+     * {@link #cancel}.
+     *
+     * @return Whether the call may be executed.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+
+            trialInFlight = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Give back the permission of a call whose outcome is unknown, e.g.
+     * because it was cancelled, without recording it.
+     */
+    public synchronized void cancel() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param failed Whether the call failed.
+     * @param latencyNanos Duration of the call; slow calls count as failures.
+     */
+    public synchronized void record(boolean failed, long latencyNanos) {
+        boolean failure = failed || latencyNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else {
+                reset();
+            }
+
+            return;
+        }
+
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (calls == outcomes.length) {
+            failures -= outcomes[index] ? 1 : 0;
+        } else {
+            calls++;
+        }
+
+        outcomes[index] = failure;
+        failures += failure ? 1 : 0;
+        index = (index + 1) % outcomes.length;
+
+        if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        index = 0;
+        calls = 0;
+        failures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Builder for circuit breakers.
+     *
+     * By default the breaker opens for 30 seconds when at least half of the
+     * last 20 calls failed or took 10 seconds or longer, with a minimum of 10
+     * calls.
+     */
+    public static final class Builder {
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration slowCallThreshold = Duration.ofSeconds(10);
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        private Builder() {}
+
+        /**
+         * @param windowSize Number of most recent calls to evaluate.
+         * @param minimumCalls Number of calls required before the breaker can open.
+         * @return This builder.
+         */
+        public Builder window(int windowSize, int minimumCalls) {
+            if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+                throw new IllegalArgumentException("Invalid circuit breaker window");
+            }
+
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * @param failureRateThreshold Share of failed calls, between 0 and 1, at which the breaker opens.
+         * @return This builder.
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * @param slowCallThreshold Calls taking at least this long count as failures.
+         * @return This builder.
+         */
+        public Builder slowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+            return this;
+        }
+
+        /**
+         * @param openDuration How long the breaker rejects calls before it lets a trial call through.
+         * @return This builder.
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        /**
+         * @return Configured circuit breaker.
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
+    }
+}
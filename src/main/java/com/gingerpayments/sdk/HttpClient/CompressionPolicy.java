@@ -0,0 +1,132 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which request bodies are sent gzip compressed, and keeps track of
+ * the bytes saved by compressing requests and responses.
+ *
+ * Responses are always requested with <code>Accept-Encoding: gzip</code>
+ * and decompressed while they are read. Request bodies are compressed when
+ * they are at least the minimum size and compression makes them smaller; not
+ * every server accepts compressed requests, so request compression can be
+ * switched off.
+ */
+public final class CompressionPolicy {
+    private final boolean compressRequests;
+    private final long minRequestSize;
+
+    private final LongAdder compressedRequests = new LongAdder();
+    private final LongAdder requestBytesSaved = new LongAdder();
+    private final LongAdder compressedResponses = new LongAdder();
+    private final LongAdder responseBytesSaved = new LongAdder();
+
+    private CompressionPolicy(Builder builder) {
+        this.compressRequests = builder.compressRequests;
+        this.minRequestSize = builder.minRequestSize;
+    }
+
+    /**
+     * @return New compression policy builder, initialized with the default settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param size Size of the request body in bytes.
+     * @return Whether a request body of this size should be compressed.
+     */
+    public boolean appliesTo(long size) {
+        return compressRequests && size >= minRequestSize;
+    }
+
+    /**
+     * @return Number of requests sent with a compressed body.
+     */
+    public long getCompressedRequestCount() {
+        return compressedRequests.sum();
+    }
+
+    /**
+     * @return Number of bytes saved by compressing request bodies.
+     */
+    public long getRequestBytesSaved() {
+        return requestBytesSaved.sum();
+    }
+
+    /**
+     * @return Number of compressed responses received.
+     */
+    public long getCompressedResponseCount() {
+        return compressedResponses.sum();
+    }
+
+    /**
+     * @return Number of bytes saved by receiving compressed responses, counted
+     *         over the part of each body that was read.
+     */
+    public long getResponseBytesSaved() {
+        return responseBytesSaved.sum();
+    }
+
+    /**
+     * Register a request that is sent with a compressed body.
+     *
+     * @param size Size of the body.
+     * @param compressedSize Size of the compressed body.
+     */
+    void onRequestCompressed(long size, long compressedSize) {
+        compressedRequests.increment();
+        requestBytesSaved.add(size - compressedSize);
+    }
+
+    /**
+     * Register a compressed response once its body is closed.
+     *
+     * @param compressedSize Number of compressed bytes read.
+     * @param size Number of decompressed bytes read.
+     */
+    void onResponseDecompressed(long compressedSize, long size) {
+        compressedResponses.increment();
+        responseBytesSaved.add(size - compressedSize);
+    }
+
+    /**
+     * Builder for compression policies.
+     *
+     * By default request bodies of 1 KiB and more are compressed.
+     */
+    public static final class Builder {
+        private boolean compressRequests = true;
+        private long minRequestSize = 1024;
+
+        private Builder() {}
+
+        /**
+         * @param minRequestSize Minimum size in bytes of request bodies to compress.
+         * @return This builder.
+         */
+        public Builder minRequestSize(long minRequestSize) {
+            this.minRequestSize = minRequestSize;
+            return this;
+        }
+
+        /**
+         * @param compressRequests Whether to compress request bodies; responses
+         *                         are decompressed either way.
+         * @return This builder.
+         */
+        public Builder compressRequests(boolean compressRequests) {
+            this.compressRequests = compressRequests;
+            return this;
+        }
+
+        /**
+         * @return Configured compression policy.
+         */
+        public CompressionPolicy build() {
+            return new CompressionPolicy(this);
+        }
+    }
+}
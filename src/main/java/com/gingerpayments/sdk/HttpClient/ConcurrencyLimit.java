@@ -0,0 +1,172 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Adaptive limit on the number of in-flight requests per endpoint, using
+ * additive increase and multiplicative decrease (AIMD).
+ *
+ * Each successful request that completes within the latency threshold raises
+ * the limit by roughly one per limit's worth of requests. A failed or slow
+ * request multiplies the limit by the backoff ratio. Requests beyond the
+ * limit are rejected immediately instead of queueing behind a slow API.
+ *
+ * Endpoints are identified by the request method and the first path segment,
+ * e.g. <code>GET orders</code>, so all order lookups share one limit.
+ */
+public final class ConcurrencyLimit {
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private ConcurrencyLimit(Builder builder) {
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.latencyThresholdNanos = builder.latencyThreshold.toNanos();
+    }
+
+    /**
+     * @return New concurrency limit builder, initialized with the default settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param method HTTP method
+     * @param path Request path
+     * @return Current limit for the endpoint of the given request.
+     */
+    public int getLimit(String method, String path) {
+        return limiterFor(method, path).getLimit();
+    }
+
+    /**
+     * @param method HTTP method
+     * @param path Request path
+     * @return Limiter for the endpoint of the given request.
+     */
+    Limiter limiterFor(String method, String path) {
+        return limiters.computeIfAbsent(endpointOf(method, path), endpoint -> new Limiter());
+    }
+
+    private static String endpointOf(String method, String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+
+        return method + " " + (end < 0 ? path.substring(start) : path.substring(start, end));
+    }
+
+    /**
+     * Limit state of a single endpoint.
+     */
+    final class Limiter {
+        private double limit = initialLimit;
+        private int inFlight;
+
+        synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        /**
+         * @return Whether the request may be sent; permitted requests must be
+         *         followed by a call to {@link #release}.
+         */
+        synchronized boolean tryAcquire() {
+            if (inFlight >= (int) limit) {
+                return false;
+            }
+
+            inFlight++;
+            return true;
+        }
+
+        /**
+         * Give back a permit for a request that was not sent after all,
+         * without adjusting the limit.
+         */
+        synchronized void cancel() {
+            inFlight--;
+        }
+
+        /**
+         * @param failed Whether the request failed in a way that indicates overload.
+         * @param latencyNanos Duration of the request.
+         */
+        synchronized void release(boolean failed, long latencyNanos) {
+            inFlight--;
+
+            if (failed || latencyNanos >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    /**
+     * Builder for concurrency limits.
+     *
+     * By default each endpoint starts at 20 concurrent requests and adapts
+     * between 1 and 200, backing off by 10% when a request fails or takes 5
+     * seconds or longer.
+     */
+    public static final class Builder {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private double backoffRatio = 0.9;
+        private Duration latencyThreshold = Duration.ofSeconds(5);
+
+        private Builder() {}
+
+        /**
+         * @param initialLimit Limit each endpoint starts with.
+         * @param minLimit Lowest limit the endpoint can back off to.
+         * @param maxLimit Highest limit the endpoint can grow to.
+         * @return This builder.
+         */
+        public Builder limits(int initialLimit, int minLimit, int maxLimit) {
+            if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+                throw new IllegalArgumentException("Invalid concurrency limits");
+            }
+
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * @param backoffRatio Factor, between 0 and 1, applied to the limit after a failed or slow request.
+         * @return This builder.
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * @param latencyThreshold Requests taking at least this long reduce the limit.
+         * @return This builder.
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+            return this;
+        }
+
+        /**
+         * @return Configured concurrency limit.
+         */
+        public ConcurrencyLimit build() {
+            return new ConcurrencyLimit(this);
+        }
+    }
+}
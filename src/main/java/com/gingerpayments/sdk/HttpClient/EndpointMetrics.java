@@ -0,0 +1,123 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics recorded by a {@link MetricsRecorder} for one endpoint.
+ */
+public final class EndpointMetrics {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram acquireConnectionLatency = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    private final LongAdder reusedConnections = new LongAdder();
+    private final LongAdder newConnections = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+    private final ConcurrentHashMap<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+    EndpointMetrics() {}
+
+    /**
+     * @return Latencies of completed requests, failed ones included.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return Time spent waiting for a pooled connection, or opening a new one.
+     */
+    public LatencyHistogram getAcquireConnectionLatency() {
+        return acquireConnectionLatency;
+    }
+
+    /**
+     * @return Time from sending the request until the response headers
+     *         started to arrive.
+     */
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    /**
+     * @return Number of requests sent on a pooled connection.
+     */
+    public long getReusedConnectionCount() {
+        return reusedConnections.sum();
+    }
+
+    /**
+     * @return Number of requests that opened a new connection.
+     */
+    public long getNewConnectionCount() {
+        return newConnections.sum();
+    }
+
+    /**
+     * @return Number of requests in flight.
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * @return Number of request body bytes sent.
+     */
+    public long getRequestBytes() {
+        return requestBytes.sum();
+    }
+
+    /**
+     * @return Number of response body bytes read.
+     */
+    public long getResponseBytes() {
+        return responseBytes.sum();
+    }
+
+    /**
+     * @return Number of failed requests by HTTP status; requests that
+     *         received no response are counted under <code>-1</code>.
+     */
+    public Map<Integer, Long> getErrorCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+
+        for (Map.Entry<Integer, LongAdder> error : errors.entrySet()) {
+            counts.put(error.getKey(), error.getValue().sum());
+        }
+
+        return counts;
+    }
+
+    void onStart() {
+        inFlight.increment();
+    }
+
+    void onEnd(int status, long durationNanos, long sentBytes, long readBytes) {
+        inFlight.decrement();
+        latency.record(durationNanos);
+        requestBytes.add(sentBytes);
+        responseBytes.add(readBytes);
+
+        if (status < 200 || status >= 400) {
+            errors.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    void onCallTimings(CallTimings timings) {
+        if (timings.getAcquireConnectionNanos() < 0) {
+            // the call failed or was cancelled before it got a connection
+            return;
+        }
+
+        acquireConnectionLatency.record(timings.getAcquireConnectionNanos());
+        (timings.isConnectionReused() ? reusedConnections : newConnections).increment();
+
+        if (timings.getTimeToFirstByteNanos() >= 0) {
+            timeToFirstByte.record(timings.getTimeToFirstByteNanos());
+        }
+    }
+}
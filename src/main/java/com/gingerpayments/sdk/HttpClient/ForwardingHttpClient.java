@@ -0,0 +1,89 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.io.InputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Base class for HTTP clients that decorate another HTTP client.
+ *
+ * All request variants are routed through
+ * {@link #request(String, String, Map, RequestWriter, ResponseReader)} and
+ * {@link #requestAsync(String, String, Map, RequestWriter, ResponseReader)},
+ * so subclasses only need to override those two methods.
+ */
+public abstract class ForwardingHttpClient implements HttpClient, AsyncHttpClient {
+    private final HttpClient delegate;
+
+    /**
+     * @param delegate HTTP client that executes the requests.
+     */
+    protected ForwardingHttpClient(HttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return HTTP client that executes the requests.
+     */
+    protected final HttpClient delegate() {
+        return delegate;
+    }
+
+    public final String request(String method, String path) throws HttpException {
+        return request(method, path, null, null);
+    }
+
+    public final String request(String method, String path, Map<String, String> headers) throws HttpException {
+        return request(method, path, headers, null);
+    }
+
+    public final String request(String method, String path, Map<String, String> headers, String data) throws HttpException {
+        return request(method, path, headers, RequestWriter.of(data), ForwardingHttpClient::readString);
+    }
+
+    public final CompletableFuture<String> requestAsync(String method, String path, Map<String, String> headers, String data) {
+        return requestAsync(method, path, headers, RequestWriter.of(data), ForwardingHttpClient::readString);
+    }
+
+    public <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        return delegate.request(method, path, headers, data, reader);
+    }
+
+    /**
+     * Forwards to the delegate; when the delegate does not implement
+     * {@link AsyncHttpClient}, the request is executed on the calling thread.
+     */
+    public <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        if (delegate instanceof AsyncHttpClient) {
+            return ((AsyncHttpClient) delegate).requestAsync(method, path, headers, data, reader);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            future.complete(delegate.request(method, path, headers, data, reader));
+        } catch (Exception exception) {
+            future.completeExceptionally(exception);
+        }
+
+        return future;
+    }
+
+    private static String readString(InputStream body) throws IOException {
+        return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,156 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * HTTP client that protects the API, and the calling application, from
+ * overload with a circuit breaker and an adaptive concurrency limit.
+ *
+ * Requests that are not permitted fail immediately with a
+ * {@link RequestRejectedException} instead of waiting for a socket timeout.
+ * I/O errors and 5xx responses count as failures; other HTTP errors do not.
+ * Cancelled requests, such as the losing side of a hedged request, are not
+ * counted at all.
+ */
+public final class GuardedHttpClient extends ForwardingHttpClient {
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrencyLimit concurrencyLimit;
+
+    /**
+     * @param delegate HTTP client that executes the requests.
+     * @param circuitBreaker Circuit breaker, or <code>null</code> to disable it.
+     * @param concurrencyLimit Concurrency limit, or <code>null</code> to disable it.
+     */
+    public GuardedHttpClient(HttpClient delegate, CircuitBreaker circuitBreaker, ConcurrencyLimit concurrencyLimit) {
+        super(delegate);
+        this.circuitBreaker = circuitBreaker;
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    @Override
+    public <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        Permit permit = acquire(method, path);
+        boolean failed = false;
+        boolean cancelled = false;
+
+        try {
+            return super.request(method, path, headers, data, reader);
+        } catch (HttpException exception) {
+            cancelled = CancellationScope.isCancelled();
+            failed = isFailure(exception);
+            throw exception;
+        } finally {
+            if (cancelled) {
+                permit.cancel();
+            } else {
+                permit.release(failed);
+            }
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        Permit permit;
+
+        try {
+            permit = acquire(method, path);
+        } catch (RequestRejectedException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+
+        CompletableFuture<T> request;
+
+        try {
+            request = super.requestAsync(method, path, headers, data, reader);
+        } catch (RuntimeException | Error exception) {
+            permit.cancel();
+            throw exception;
+        }
+
+        request.whenComplete((value, exception) -> {
+            Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+
+            if (cause instanceof CancellationException) {
+                permit.cancel();
+            } else {
+                permit.release(cause instanceof HttpException && isFailure((HttpException) cause));
+            }
+        });
+
+        return request;
+    }
+
+    private Permit acquire(String method, String path) throws RequestRejectedException {
+        ConcurrencyLimit.Limiter limiter = concurrencyLimit == null ? null : concurrencyLimit.limiterFor(method, path);
+
+        if (limiter != null && !limiter.tryAcquire()) {
+            throw new RequestRejectedException("Concurrency limit reached", path);
+        }
+
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            if (limiter != null) {
+                limiter.cancel();
+            }
+
+            throw new RequestRejectedException("Circuit breaker is open", path);
+        }
+
+        return new Permit(limiter);
+    }
+
+    private static boolean isFailure(HttpException exception) {
+        return exception.getErrorNumber() == -1 || exception.getErrorNumber() >= 500;
+    }
+
+    /**
+     * Permission to execute a single request.
+     */
+    private final class Permit {
+        private final ConcurrencyLimit.Limiter limiter;
+        private final long startedAt = System.nanoTime();
+
+        Permit(ConcurrencyLimit.Limiter limiter) {
+            this.limiter = limiter;
+        }
+
+        void release(boolean failed) {
+            long latency = System.nanoTime() - startedAt;
+
+            if (circuitBreaker != null) {
+                circuitBreaker.record(failed, latency);
+            }
+
+            if (limiter != null) {
+                limiter.release(failed, latency);
+            }
+        }
+
+        /**
+         * Give back the permit without recording an outcome.
+         */
+        void cancel() {
+            if (circuitBreaker != null) {
+                circuitBreaker.cancel();
+            }
+
+            if (limiter != null) {
+                limiter.cancel();
+            }
+        }
+    }
+}
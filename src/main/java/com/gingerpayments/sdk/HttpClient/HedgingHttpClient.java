@@ -0,0 +1,209 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP client that hedges slow GET requests according to a
+ * {@link HedgingPolicy}.
+ *
+ * When a GET request has not completed within the hedge delay, an identical
+ * request is sent. The first successful response wins and the other request
+ * is cancelled. The hedging statistics are kept by the policy.
+ *
+ * A blocking request sends the original request on the calling thread, so
+ * only hedges are dispatched asynchronously and count towards the
+ * dispatcher's <code>maxRequestsPerHost</code> limit. Hedging requires the
+ * decorated client to implement {@link AsyncHttpClient} and to cancel
+ * requests when their future is cancelled, as {@link OkHttpClient} does; it
+ * also cancels the blocking calls of {@link OkHttpClient} when the hedge wins.
+ */
+public final class HedgingHttpClient extends ForwardingHttpClient {
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    private final HedgingPolicy policy;
+
+    /**
+     * @param delegate HTTP client that executes the requests.
+     * @param policy Hedging policy.
+     */
+    public HedgingHttpClient(HttpClient delegate, HedgingPolicy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        if (!policy.appliesTo(method)) {
+            return super.request(method, path, headers, data, reader);
+        }
+
+        policy.onRequest();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger(1);
+        AtomicBoolean settled = new AtomicBoolean();
+        long startedAt = System.nanoTime();
+
+        try (CancellationScope primary = CancellationScope.open()) {
+            scheduleHedge(result, inFlight, settled, method, path, headers, data, reader);
+            result.whenComplete((value, exception) -> primary.cancel());
+
+            try {
+                T value = super.request(method, path, headers, data, reader);
+                policy.recordLatency(System.nanoTime() - startedAt);
+                complete(result, inFlight, settled, value, null, false);
+            } catch (Throwable exception) {
+                complete(result, inFlight, settled, null, exception, false);
+            }
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new HttpException(-1, exception.toString(), path);
+        } catch (ExecutionException exception) {
+            throw HedgingHttpClient.<E>rethrow(exception.getCause());
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        if (!policy.appliesTo(method)) {
+            return super.requestAsync(method, path, headers, data, reader);
+        }
+
+        policy.onRequest();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger(1);
+        AtomicBoolean settled = new AtomicBoolean();
+        long startedAt = System.nanoTime();
+        CompletableFuture<T> primary = super.requestAsync(method, path, headers, data, reader);
+        primary.whenComplete((value, exception) -> {
+            if (exception == null) {
+                policy.recordLatency(System.nanoTime() - startedAt);
+            }
+
+            complete(result, inFlight, settled, value, exception, false);
+        });
+
+        scheduleHedge(result, inFlight, settled, method, path, headers, data, reader);
+        result.whenComplete((value, exception) -> primary.cancel(true));
+
+        return result;
+    }
+
+    /**
+     * Send a hedge asynchronously when the result is not complete after the
+     * hedge delay, and the budget allows it.
+     */
+    private <T> void scheduleHedge(
+        CompletableFuture<T> result,
+        AtomicInteger inFlight,
+        AtomicBoolean settled,
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        ScheduledFuture<?> hedgeTimer = SCHEDULER.schedule(() -> {
+            if (result.isDone() || !policy.tryAcquireHedge()) {
+                return;
+            }
+
+            inFlight.incrementAndGet();
+            CompletableFuture<T> hedge = super.requestAsync(method, path, headers, data, reader);
+            hedge.whenComplete((value, exception) -> complete(result, inFlight, settled, value, exception, true));
+            result.whenComplete((value, exception) -> hedge.cancel(true));
+        }, policy.delayNanos(), TimeUnit.NANOSECONDS);
+
+        result.whenComplete((value, exception) -> hedgeTimer.cancel(false));
+    }
+
+    /**
+     * Complete the result with the first successful response, or with the
+     * last failure once no request is in flight anymore.
+     */
+    private <T> void complete(
+        CompletableFuture<T> result,
+        AtomicInteger inFlight,
+        AtomicBoolean settled,
+        T value,
+        Throwable exception,
+        boolean hedge
+    ) {
+        if (exception == null) {
+            // count the win before the caller is woken up by the result
+            if (settled.compareAndSet(false, true)) {
+                if (hedge) {
+                    policy.onHedgeWin();
+                }
+
+                result.complete(value);
+            }
+
+            return;
+        }
+
+        if (inFlight.decrementAndGet() == 0 && settled.compareAndSet(false, true)) {
+            result.completeExceptionally(
+                exception instanceof CompletionException && exception.getCause() != null ? exception.getCause() : exception
+            );
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Exception> E rethrow(Throwable cause) throws HttpException {
+        if (cause instanceof HttpException) {
+            throw (HttpException) cause;
+        }
+
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        // any other checked exception was thrown by the response reader
+        return (E) cause;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName("ginger-hedging");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        return scheduler;
+    }
+}
@@ -0,0 +1,205 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when a second, identical request is sent for a slow GET request.
+ *
+ * The hedge delay is either fixed, or follows a percentile of the latencies
+ * observed for recent requests. A budget caps the extra load: every request
+ * earns a fraction of a hedge, and a hedge is only sent when a whole one has
+ * been earned.
+ */
+public final class HedgingPolicy {
+    private static final int WINDOW_SIZE = 1000;
+    private static final int RECALCULATE_EVERY = 100;
+    private static final double MAX_SAVED_HEDGES = 10;
+
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double maxHedgeRatio;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    private final long[] latencies = new long[WINDOW_SIZE];
+    private int samples;
+    private long percentileDelayNanos;
+    private double budget;
+
+    private HedgingPolicy(Builder builder) {
+        this.fixedDelayNanos = builder.delay.toNanos();
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxHedgeRatio = builder.maxHedgeRatio;
+        this.percentileDelayNanos = fixedDelayNanos;
+    }
+
+    /**
+     * @return New hedging policy builder, initialized with the default settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param method HTTP method
+     * @return Whether requests with this method may be hedged.
+     */
+    public boolean appliesTo(String method) {
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    /**
+     * @return How long to wait for a response before sending a hedge, in nanoseconds.
+     */
+    public synchronized long delayNanos() {
+        return percentile > 0 ? percentileDelayNanos : fixedDelayNanos;
+    }
+
+    /**
+     * @return Number of requests that could have been hedged.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Number of hedges sent.
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * @return Number of hedges that responded before the original request.
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * Register a request that may be hedged, earning a fraction of a hedge.
+     */
+    synchronized void onRequest() {
+        requests.increment();
+        budget = Math.min(MAX_SAVED_HEDGES, budget + maxHedgeRatio);
+    }
+
+    /**
+     * @return Whether the budget allows sending a hedge; if so, the hedge is
+     *         deducted from the budget.
+     */
+    synchronized boolean tryAcquireHedge() {
+        if (budget < 1) {
+            return false;
+        }
+
+        budget -= 1;
+        hedges.increment();
+        return true;
+    }
+
+    /**
+     * Register a hedge that responded before the original request.
+     */
+    void onHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    /**
+     * Record the latency of a successful request, for percentile based delays.
+     *
+     * @param latencyNanos Request latency.
+     */
+    void recordLatency(long latencyNanos) {
+        if (percentile <= 0) {
+            return;
+        }
+
+        long[] window;
+
+        synchronized (this) {
+            latencies[samples % WINDOW_SIZE] = latencyNanos;
+            samples++;
+
+            if (samples % RECALCULATE_EVERY != 0) {
+                return;
+            }
+
+            window = Arrays.copyOf(latencies, Math.min(samples, WINDOW_SIZE));
+        }
+
+        Arrays.sort(window);
+        long delay = Math.max(minDelayNanos, window[(int) Math.min(window.length - 1, Math.ceil(percentile * window.length) - 1)]);
+
+        synchronized (this) {
+            percentileDelayNanos = delay;
+        }
+    }
+
+    /**
+     * Builder for hedging policies.
+     *
+     * By default a hedge is sent after 500 milliseconds, for at most 5% of
+     * the requests.
+     */
+    public static final class Builder {
+        private Duration delay = Duration.ofMillis(500);
+        private double percentile;
+        private Duration minDelay = Duration.ZERO;
+        private double maxHedgeRatio = 0.05;
+
+        private Builder() {}
+
+        /**
+         * @param delay Fixed delay before a hedge is sent.
+         * @return This builder.
+         */
+        public Builder delay(Duration delay) {
+            this.delay = delay;
+            this.percentile = 0;
+            return this;
+        }
+
+        /**
+         * Send a hedge when a request takes longer than the given percentile
+         * of recently observed latencies.
+         *
+         * @param percentile Latency percentile, between 0 and 1, e.g. 0.95.
+         * @param initialDelay Delay used until enough latencies have been observed.
+         * @param minDelay Lower bound for the delay.
+         * @return This builder.
+         */
+        public Builder percentile(double percentile, Duration initialDelay, Duration minDelay) {
+            if (percentile <= 0 || percentile > 1) {
+                throw new IllegalArgumentException("The percentile must be between 0 and 1");
+            }
+
+            this.percentile = percentile;
+            this.delay = initialDelay;
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        /**
+         * @param maxHedgeRatio Maximum number of hedges relative to the number of requests, e.g. 0.05.
+         * @return This builder.
+         */
+        public Builder maxHedgeRatio(double maxHedgeRatio) {
+            this.maxHedgeRatio = maxHedgeRatio;
+            return this;
+        }
+
+        /**
+         * @return Configured hedging policy.
+         */
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.gingerpayments.sdk.HttpClient;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -42,4 +45,43 @@ public interface HttpClient {
      * @throws HttpException When an error occurred while executing the request.
      */
     String request(String method, String path, Map<String, String> headers, String data) throws HttpException;
+
+    /**
+     * Submit an HTTP request and decode the response body while it is read.
+     *
+     * Implementations should hand the network stream to the reader instead
+     * of buffering the complete body. The default implementation falls back
+     * to {@link #request(String, String, Map, String)}, which buffers both
+     * the request and the response body.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @param headers Request headers
+     * @param data Request body writer, or <code>null</code> for requests without a body
+     * @param reader Response body decoder
+     * @param <T> Decoded value type
+     * @param <E> Exception thrown by the decoder
+     * @return Decoded response body, or <code>null</code> when the response has no body
+     * @throws HttpException When an error occurred while executing the request.
+     * @throws E When the response body could not be decoded.
+     */
+    default <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        try {
+            String response = request(method, path, headers, data == null ? null : data.writeToString());
+
+            if (response == null || response.isEmpty()) {
+                return null;
+            }
+
+            return reader.read(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException exception) {
+            throw new HttpException(-1, exception.toString(), path);
+        }
+    }
 }
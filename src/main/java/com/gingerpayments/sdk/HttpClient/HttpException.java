@@ -1,15 +1,50 @@
 package com.gingerpayments.sdk.HttpClient;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Thrown when the HTTP client encounters an error.
  */
-public final class HttpException extends Exception {
+public class HttpException extends Exception {
+    private final int errorNumber;
+    private final String responseBody;
+    private final Map<String, String> responseHeaders;
+
     /**
      * @param errorNumber HTTP library error number.
      * @param errorMessage HTTP library error message.
      * @param path Path used in the HTTP request.
      */
     public HttpException(int errorNumber, String errorMessage, String path) {
+        this(errorNumber, errorMessage, path, null);
+    }
+
+    /**
+     * @param errorNumber HTTP library error number.
+     * @param errorMessage HTTP library error message.
+     * @param path Path used in the HTTP request.
+     * @param responseBody Body of the error response, if any.
+     */
+    public HttpException(int errorNumber, String errorMessage, String path, String responseBody) {
+        this(errorNumber, errorMessage, path, responseBody, null);
+    }
+
+    /**
+     * @param errorNumber HTTP library error number.
+     * @param errorMessage HTTP library error message.
+     * @param path Path used in the HTTP request.
+     * @param responseBody Body of the error response, if any.
+     * @param responseHeaders Headers of the error response, if any.
+     */
+    public HttpException(
+        int errorNumber,
+        String errorMessage,
+        String path,
+        String responseBody,
+        Map<String, String> responseHeaders
+    ) {
         super(
                 String.format("HTTP error: %d: %s for %s",
                         errorNumber,
@@ -17,5 +52,38 @@ public final class HttpException extends Exception {
                         path
                 )
         );
+        this.errorNumber = errorNumber;
+        this.responseBody = responseBody;
+        this.responseHeaders = responseHeaders == null ? Map.of() : caseInsensitive(responseHeaders);
+    }
+
+    /**
+     * @return HTTP status code, or the HTTP library error number for errors
+     *         without an HTTP response.
+     */
+    public int getErrorNumber() {
+        return errorNumber;
+    }
+
+    /**
+     * @return Body of the error response, or <code>null</code> when there was none.
+     */
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * @param name Header name, matched case-insensitively.
+     * @return Value of the error response header, or <code>null</code> when it is absent.
+     */
+    public String getResponseHeader(String name) {
+        return responseHeaders.get(name);
+    }
+
+    private static Map<String, String> caseInsensitive(Map<String, String> headers) {
+        Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(headers);
+
+        return Collections.unmodifiableMap(copy);
     }
 }
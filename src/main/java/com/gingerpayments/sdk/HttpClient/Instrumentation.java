@@ -0,0 +1,49 @@
+package com.gingerpayments.sdk.HttpClient;
+
+/**
+ * Receives telemetry for the HTTP exchanges of an {@link OkHttpClient}.
+ *
+ * Every exchange is reported, including retries and hedges. Endpoints are
+ * named after the method and the path, with segments that contain digits,
+ * such as order IDs, replaced by <code>{id}</code>, e.g.
+ * <code>GET /orders/{id}</code>. All methods do nothing by default.
+ * Implementations are called on the threads that execute requests, so they
+ * must be thread-safe and fast.
+ */
+public interface Instrumentation {
+    /**
+     * Called for every OkHttp client the instrumented clients run on, so the
+     * state of its connection pool and dispatcher can be reported. The same
+     * client may be registered more than once.
+     *
+     * @param transport OkHttp client.
+     */
+    default void registerTransport(okhttp3.OkHttpClient transport) {}
+
+    /**
+     * Called before a request is sent.
+     *
+     * @param endpoint Endpoint name, e.g. <code>GET /orders/{id}</code>.
+     */
+    default void onRequestStart(String endpoint) {}
+
+    /**
+     * Called once the response has been read, or the request has failed.
+     *
+     * @param endpoint Endpoint name, e.g. <code>GET /orders/{id}</code>.
+     * @param status HTTP status, or <code>-1</code> when no response was received.
+     * @param durationNanos Time from sending the request until the response was read.
+     * @param requestBytes Number of request body bytes sent.
+     * @param responseBytes Number of response body bytes read.
+     */
+    default void onRequestEnd(String endpoint, int status, long durationNanos, long requestBytes, long responseBytes) {}
+
+    /**
+     * Called after {@link #onRequestEnd}, with the time spent in each network
+     * phase of the exchange, as reported by OkHttp's event listener.
+     *
+     * @param endpoint Endpoint name, e.g. <code>GET /orders/{id}</code>.
+     * @param timings Phase timings.
+     */
+    default void onCallTimings(String endpoint, CallTimings timings) {}
+}
@@ -0,0 +1,119 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Instrumentation} that keeps per-endpoint metrics in memory, to be
+ * read by your monitoring, e.g. on every scrape.
+ *
+ * Recording takes no locks. Connection pool and dispatcher figures are read
+ * from the pools and dispatchers of the registered OkHttp clients when they
+ * are requested; clients that share a pool or dispatcher count it once.
+ */
+public final class MetricsRecorder implements Instrumentation {
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Set<ConnectionPool> pools = ConcurrentHashMap.newKeySet();
+    private final Set<Dispatcher> dispatchers = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void registerTransport(okhttp3.OkHttpClient transport) {
+        // neither class overrides equals, so the sets hold each instance once
+        pools.add(transport.connectionPool());
+        dispatchers.add(transport.dispatcher());
+    }
+
+    @Override
+    public void onRequestStart(String endpoint) {
+        endpoint(endpoint).onStart();
+    }
+
+    @Override
+    public void onRequestEnd(String endpoint, int status, long durationNanos, long requestBytes, long responseBytes) {
+        endpoint(endpoint).onEnd(status, durationNanos, requestBytes, responseBytes);
+    }
+
+    @Override
+    public void onCallTimings(String endpoint, CallTimings timings) {
+        endpoint(endpoint).onCallTimings(timings);
+    }
+
+    /**
+     * @return Metrics by endpoint name, e.g. <code>GET /orders/{id}</code>.
+     */
+    public Map<String, EndpointMetrics> getEndpoints() {
+        return Collections.unmodifiableMap(endpoints);
+    }
+
+    /**
+     * @param endpoint Endpoint name, e.g. <code>GET /orders/{id}</code>.
+     * @return Metrics of the endpoint, or <code>null</code> when it was not called.
+     */
+    public EndpointMetrics getEndpoint(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * @return Number of open connections, in use or idle.
+     */
+    public int getConnectionCount() {
+        int connections = 0;
+
+        for (ConnectionPool pool : pools) {
+            connections += pool.connectionCount();
+        }
+
+        return connections;
+    }
+
+    /**
+     * @return Number of idle connections.
+     */
+    public int getIdleConnectionCount() {
+        int idle = 0;
+
+        for (ConnectionPool pool : pools) {
+            idle += pool.idleConnectionCount();
+        }
+
+        return idle;
+    }
+
+    /**
+     * @return Number of asynchronous and blocking calls being executed.
+     */
+    public int getRunningCallCount() {
+        int running = 0;
+
+        for (Dispatcher dispatcher : dispatchers) {
+            running += dispatcher.runningCallsCount();
+        }
+
+        return running;
+    }
+
+    /**
+     * @return Number of asynchronous calls waiting for the dispatcher's
+     *         request limits.
+     */
+    public int getQueuedCallCount() {
+        int queued = 0;
+
+        for (Dispatcher dispatcher : dispatchers) {
+            queued += dispatcher.queuedCallsCount();
+        }
+
+        return queued;
+    }
+
+    private EndpointMetrics endpoint(String endpoint) {
+        EndpointMetrics metrics = endpoints.get(endpoint);
+
+        return metrics != null ? metrics : endpoints.computeIfAbsent(endpoint, key -> new EndpointMetrics());
+    }
+}
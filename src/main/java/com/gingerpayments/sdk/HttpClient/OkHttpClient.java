@@ -1,6 +1,9 @@
 package com.gingerpayments.sdk.HttpClient;
 
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.Credentials;
+import okhttp3.EventListener;
 import okhttp3.Headers;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
@@ -8,24 +11,57 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.ForwardingSink;
+import okio.ForwardingSource;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
+import okio.Source;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * HTTP client implementation using OkHttp.
  *
  * When an HTTP error is encountered, it uses the HTTP status (4xx or 5xx) as
- * the <code>errorNumber</code>; for other errors, <code>-1</code> is used.
+ * the <code>errorNumber</code> and includes the error response body; for
+ * other errors, <code>-1</code> is used.
+ *
+ * Every response is closed before a request method returns, so its connection
+ * is released back to the pool on both the success and the error path.
+ *
+ * With a {@link CompressionPolicy}, request bodies are buffered so their
+ * size is known before they are sent, and compressed when the policy
+ * applies. Responses are then requested gzip compressed and decompressed by
+ * this client, so the compressed size can be counted.
+ *
+ * With an {@link Instrumentation}, every exchange is reported once its
+ * response has been read and closed. Byte counts are taken on the wire, i.e.
+ * after compression. Phase timings come from an OkHttp event listener, which
+ * wraps the listener the OkHttp client was configured with.
  */
-public final class OkHttpClient implements HttpClient {
+public final class OkHttpClient implements HttpClient, AsyncHttpClient {
+    private final okhttp3.OkHttpClient httpClient;
     private final HttpUrl endpoint;
-    private final String apiKey;
-    private final Map<String, String> defaultHeaders;
-    private final okhttp3.OkHttpClient httpClient = new okhttp3.OkHttpClient();
+    private final CompressionPolicy compression;
+    private final Instrumentation instrumentation;
+
+    /**
+     * Default headers and basic auth credentials, computed once and shared by
+     * all requests.
+     */
+    private final Headers requestHeaders;
 
     private static final MediaType MEDIA_TYPE_UNKNOWN = MediaType.parse("");
+    private static final long MAX_ERROR_BODY_SIZE = 64 * 1024;
 
     public OkHttpClient(URL endpoint, String apiKey) {
         this(endpoint, apiKey, Map.of());
@@ -40,9 +76,92 @@ public final class OkHttpClient implements HttpClient {
     }
 
     public OkHttpClient(HttpUrl endpoint, String apiKey, Map<String, String> defaultHeaders) {
+        this(new okhttp3.OkHttpClient(), endpoint, apiKey, defaultHeaders);
+    }
+
+    /**
+     * Use a preconfigured OkHttp client, e.g. to share its connection pool and
+     * dispatcher with other API clients.
+     *
+     * @param httpClient OkHttp client used to execute requests
+     * @param endpoint API endpoint, including the version prefix
+     * @param apiKey Project API key
+     * @param defaultHeaders HTTP headers that should be included in all requests
+     */
+    public OkHttpClient(okhttp3.OkHttpClient httpClient, URL endpoint, String apiKey, Map<String, String> defaultHeaders) {
+        this(httpClient, HttpUrl.parse(endpoint.toString()), apiKey, defaultHeaders);
+    }
+
+    /**
+     * Use a preconfigured OkHttp client, e.g. to share its connection pool and
+     * dispatcher with other API clients.
+     *
+     * @param httpClient OkHttp client used to execute requests
+     * @param endpoint API endpoint, including the version prefix
+     * @param apiKey Project API key
+     * @param defaultHeaders HTTP headers that should be included in all requests
+     */
+    public OkHttpClient(okhttp3.OkHttpClient httpClient, HttpUrl endpoint, String apiKey, Map<String, String> defaultHeaders) {
+        this(httpClient, endpoint, apiKey, defaultHeaders, null);
+    }
+
+    /**
+     * Use a preconfigured OkHttp client and compress request and response
+     * bodies.
+     *
+     * @param httpClient OkHttp client used to execute requests
+     * @param endpoint API endpoint, including the version prefix
+     * @param apiKey Project API key
+     * @param defaultHeaders HTTP headers that should be included in all requests
+     * @param compression Compression policy, or <code>null</code> to leave compression to OkHttp
+     */
+    public OkHttpClient(
+        okhttp3.OkHttpClient httpClient,
+        HttpUrl endpoint,
+        String apiKey,
+        Map<String, String> defaultHeaders,
+        CompressionPolicy compression
+    ) {
+        this(httpClient, endpoint, apiKey, defaultHeaders, compression, null);
+    }
+
+    /**
+     * Use a preconfigured OkHttp client and report every exchange to the
+     * given instrumentation.
+     *
+     * @param httpClient OkHttp client used to execute requests
+     * @param endpoint API endpoint, including the version prefix
+     * @param apiKey Project API key
+     * @param defaultHeaders HTTP headers that should be included in all requests
+     * @param compression Compression policy, or <code>null</code> to leave compression to OkHttp
+     * @param instrumentation Instrumentation, or <code>null</code> for none
+     */
+    public OkHttpClient(
+        okhttp3.OkHttpClient httpClient,
+        HttpUrl endpoint,
+        String apiKey,
+        Map<String, String> defaultHeaders,
+        CompressionPolicy compression,
+        Instrumentation instrumentation
+    ) {
+        Headers.Builder headers = defaultHeaders == null
+            ? new Headers.Builder()
+            : Headers.of(defaultHeaders).newBuilder();
+
+        if (compression != null) {
+            // asking for gzip ourselves turns off OkHttp's transparent decompression
+            headers.set("Accept-Encoding", "gzip");
+        }
+
+        this.httpClient = instrumentation == null ? httpClient : withCallTimings(httpClient);
         this.endpoint = endpoint;
-        this.apiKey = apiKey;
-        this.defaultHeaders = defaultHeaders;
+        this.compression = compression;
+        this.instrumentation = instrumentation;
+        this.requestHeaders = headers.set("Authorization", Credentials.basic(apiKey, "")).build();
+
+        if (instrumentation != null) {
+            instrumentation.registerTransport(httpClient);
+        }
     }
 
     public String request(String method, String path) throws HttpException {
@@ -54,56 +173,659 @@ public final class OkHttpClient implements HttpClient {
     }
 
     public String request(String method, String path, Map<String, String> headers, String data) throws HttpException {
-        Request.Builder builder = new Request.Builder();
-        RequestBody requestBody = null;
+        Exchange exchange = startExchange(method, path);
 
-        if (defaultHeaders != null) {
-            builder.headers(Headers.of(defaultHeaders));
+        try (Response response = execute(exchange, newRequest(method, path, headers, requestBody(data)))) {
+            return readResponse(response, path);
+        } catch (IOException exception) {
+            throw new HttpException(-1, exception.toString(), stripLeadingSlash(path));
+        } finally {
+            exchange.end();
         }
+    }
 
-        if (headers != null) {
-            for (Map.Entry<String, String> header : headers.entrySet()) {
-                builder.header(header.getKey(), header.getValue());
-            }
+    public <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        Exchange exchange = startExchange(method, path);
+
+        try (Response response = execute(exchange, newRequest(method, path, headers, requestBody(data)))) {
+            return readResponse(response, path, reader);
+        } catch (IOException exception) {
+            throw new HttpException(-1, exception.toString(), stripLeadingSlash(path));
+        } finally {
+            exchange.end();
         }
+    }
+
+    public CompletableFuture<String> requestAsync(String method, String path, Map<String, String> headers, String data) {
+        RequestBody requestBody;
 
-        if (data != null) {
-            requestBody = RequestBody.create(data, MEDIA_TYPE_UNKNOWN);
+        try {
+            requestBody = requestBody(data);
+        } catch (IOException exception) {
+            return CompletableFuture.failedFuture(new HttpException(-1, exception.toString(), stripLeadingSlash(path)));
         }
 
-        if (path.startsWith("/")) {
-            path = path.substring(1);
+        return enqueue(
+            startExchange(method, path),
+            newRequest(method, path, headers, requestBody),
+            path,
+            response -> readResponse(response, path)
+        );
+    }
+
+    public <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        RequestBody requestBody;
+
+        try {
+            requestBody = requestBody(data);
+        } catch (IOException exception) {
+            return CompletableFuture.failedFuture(new HttpException(-1, exception.toString(), stripLeadingSlash(path)));
         }
 
+        return enqueue(
+            startExchange(method, path),
+            newRequest(method, path, headers, requestBody),
+            path,
+            response -> readResponse(response, path, reader)
+        );
+    }
+
+    /**
+     * Enqueue a call on the OkHttp dispatcher.
+     *
+     * @param exchange Exchange to report, ended before the future is completed
+     * @param request Request to execute
+     * @param path Request path, used in error messages
+     * @param handler Converts the response; the response is closed afterwards
+     * @return Future completed with the converted response
+     */
+    private <T> CompletableFuture<T> enqueue(Exchange exchange, Request request, String path, ResponseHandler<T> handler) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Call call = httpClient.newCall(exchange.track(request));
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException exception) {
+                exchange.end();
+                future.completeExceptionally(new HttpException(-1, exception.toString(), stripLeadingSlash(path)));
+            }
+
+            @Override
+            public void onResponse(Call call, Response networkResponse) {
+                T value = null;
+                Exception failure = null;
+
+                try (Response response = decompress(exchange.track(networkResponse))) {
+                    value = handler.handle(response);
+                } catch (IOException exception) {
+                    failure = new HttpException(-1, exception.toString(), stripLeadingSlash(path));
+                } catch (Exception exception) {
+                    failure = exception;
+                }
+
+                exchange.end();
+
+                if (failure == null) {
+                    future.complete(value);
+                } else {
+                    future.completeExceptionally(failure);
+                }
+            }
+        });
+
+        future.whenComplete((response, exception) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Build a request from the precomputed request template.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @param headers Additional request headers, may be <code>null</code>
+     * @param requestBody Request body, may be <code>null</code>
+     * @return Request ready to be executed
+     */
+    Request newRequest(String method, String path, Map<String, String> headers, RequestBody requestBody) {
         HttpUrl requestUrl = endpoint.newBuilder()
-            .addPathSegments(path)
+            .addPathSegments(stripLeadingSlash(path))
             .build();
-        Request request = builder
+        Request.Builder builder = new Request.Builder()
             .url(requestUrl)
-            .method(method, requestBody)
-            .header("Authorization", Credentials.basic(apiKey, ""))
+            .headers(requestHeaders)
+            .method(method, requestBody);
+
+        if (requestBody instanceof GzipRequestBody) {
+            builder.header("Content-Encoding", "gzip");
+        }
+
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                // request headers must not replace the API key
+                if (!"Authorization".equalsIgnoreCase(header.getKey())) {
+                    builder.header(header.getKey(), header.getValue());
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    private Response execute(Exchange exchange, Request request) throws IOException {
+        Call call = httpClient.newCall(exchange.track(request));
+        CancellationScope.register(call);
+
+        return decompress(exchange.track(call.execute()));
+    }
+
+    /**
+     * Derive an OkHttp client, sharing its connection pool and dispatcher,
+     * that times the calls of instrumented exchanges.
+     */
+    private static okhttp3.OkHttpClient withCallTimings(okhttp3.OkHttpClient httpClient) {
+        EventListener.Factory configured = httpClient.eventListenerFactory();
+
+        return httpClient.newBuilder()
+            .eventListenerFactory(call -> {
+                EventListener listener = configured.create(call);
+                Exchange exchange = call.request().tag(Exchange.class);
+
+                return exchange == null ? listener : exchange.listen(listener);
+            })
+            .build();
+    }
+
+    private Exchange startExchange(String method, String path) {
+        if (instrumentation == null) {
+            return Exchange.NONE;
+        }
+
+        return new Exchange(instrumentation, endpointName(method, path));
+    }
+
+    /**
+     * Name an endpoint after the method and the path without its query, with
+     * path segments that contain digits replaced by <code>{id}</code>.
+     *
+     * @param method HTTP method
+     * @param path Request path
+     * @return Endpoint name, e.g. <code>GET /orders/{id}</code>
+     */
+    static String endpointName(String method, String path) {
+        int end = path.indexOf('?');
+        end = end < 0 ? path.length() : end;
+        StringBuilder name = new StringBuilder(method.length() + end + 8).append(method).append(' ');
+        int start = path.startsWith("/") ? 1 : 0;
+
+        while (start <= end) {
+            int next = path.indexOf('/', start);
+            next = next < 0 || next > end ? end : next;
+            name.append('/');
+
+            if (containsDigit(path, start, next)) {
+                name.append("{id}");
+            } else {
+                name.append(path, start, next);
+            }
+
+            start = next + 1;
+        }
+
+        return name.toString();
+    }
+
+    private static boolean containsDigit(String path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private RequestBody requestBody(String data) throws IOException {
+        if (data == null) {
+            return null;
+        }
+
+        if (compression == null) {
+            return RequestBody.create(data, MEDIA_TYPE_UNKNOWN);
+        }
+
+        return compress(ByteString.encodeUtf8(data));
+    }
+
+    private RequestBody requestBody(RequestWriter data) throws IOException {
+        if (data == null) {
+            return null;
+        }
+
+        if (compression == null) {
+            return new WriterRequestBody(data);
+        }
+
+        Buffer buffer = new Buffer();
+        data.writeTo(buffer.outputStream());
+
+        return compress(buffer.readByteString());
+    }
+
+    /**
+     * Compress a request body, if the compression policy applies to its size
+     * and compressing makes it smaller.
+     */
+    private RequestBody compress(ByteString body) throws IOException {
+        if (!compression.appliesTo(body.size())) {
+            return RequestBody.create(body, MEDIA_TYPE_UNKNOWN);
+        }
+
+        Buffer compressed = new Buffer();
+
+        try (BufferedSink gzip = Okio.buffer(new GzipSink(compressed))) {
+            gzip.write(body);
+        }
+
+        if (compressed.size() >= body.size()) {
+            return RequestBody.create(body, MEDIA_TYPE_UNKNOWN);
+        }
+
+        compression.onRequestCompressed(body.size(), compressed.size());
+
+        return new GzipRequestBody(compressed.readByteString());
+    }
+
+    /**
+     * Replace a gzip compressed response body by one that decompresses while
+     * it is read, and counts the bytes saved once it is closed.
+     */
+    private Response decompress(Response response) {
+        ResponseBody body = response.body();
+
+        if (compression == null || body == null || body.contentLength() == 0) {
+            return response;
+        }
+
+        if (!"gzip".equalsIgnoreCase(response.header("Content-Encoding"))) {
+            return response;
+        }
+
+        BufferedSource source = Okio.buffer(new DecompressingSource(body.source(), compression));
+
+        return response.newBuilder()
+            .removeHeader("Content-Encoding")
+            .removeHeader("Content-Length")
+            .body(ResponseBody.create(source, body.contentType(), -1))
             .build();
+    }
+
+    private static String readResponse(Response response, String path) throws HttpException, IOException {
+        ResponseBody body = successfulBody(response, path);
+
+        if (body == null) {
+            return null;
+        }
+
+        return body.string();
+    }
+
+    /**
+     * Hand the response body to a reader straight from the network buffer.
+     *
+     * Bytes left unread by the reader are discarded, so the connection can be
+     * returned to the pool.
+     */
+    private static <T, E extends Exception> T readResponse(
+        Response response,
+        String path,
+        ResponseReader<T, E> reader
+    ) throws HttpException, IOException, E {
+        ResponseBody body = successfulBody(response, path);
+
+        if (body == null) {
+            return null;
+        }
+
+        BufferedSource source = body.source();
+
+        if (source.exhausted()) {
+            return null;
+        }
+
+        T value = reader.read(source.inputStream(), response::header);
+        source.readAll(Okio.blackhole());
+
+        return value;
+    }
+
+    /**
+     * @return The body of a successful response, or <code>null</code> when it is empty.
+     * @throws HttpException When the server responded with an HTTP error; the
+     *                       exception carries the error response body.
+     */
+    private static ResponseBody successfulBody(Response response, String path) throws HttpException {
+        if (!response.isSuccessful()) {
+            throw new HttpException(
+                response.code(),
+                response.message(),
+                stripLeadingSlash(path),
+                errorBody(response),
+                errorHeaders(response)
+            );
+        }
+
+        ResponseBody body = response.body();
+
+        if (body == null) {
+            return null;
+        }
+
+        if (body.contentLength() == 0) {
+            return null;
+        }
+
+        return body;
+    }
+
+    /**
+     * Read the body of an error response, up to a size limit.
+     *
+     * @return The error response body, or <code>null</code> when it is empty
+     *         or could not be read.
+     */
+    private static String errorBody(Response response) {
+        if (response.body() == null) {
+            return null;
+        }
 
         try {
-            Response response = httpClient.newCall(request).execute();
+            String body = response.peekBody(MAX_ERROR_BODY_SIZE).string();
+
+            return body.isEmpty() ? null : body;
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> errorHeaders(Response response) {
+        Map<String, String> headers = new HashMap<>();
+
+        for (String name : response.headers().names()) {
+            headers.put(name, response.header(name));
+        }
+
+        return headers;
+    }
+
+    private static String stripLeadingSlash(String path) {
+        if (path.startsWith("/")) {
+            return path.substring(1);
+        }
+
+        return path;
+    }
+
+    /**
+     * Request body that is written straight into the OkHttp sink when the
+     * request is sent.
+     */
+    private static final class WriterRequestBody extends RequestBody {
+        private final RequestWriter writer;
+
+        WriterRequestBody(RequestWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return MEDIA_TYPE_UNKNOWN;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            writer.writeTo(sink.outputStream());
+        }
+    }
+
+    /**
+     * Compressed request body, sent with a <code>Content-Encoding</code> header.
+     */
+    private static final class GzipRequestBody extends RequestBody {
+        private final ByteString body;
+
+        GzipRequestBody(ByteString body) {
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return MEDIA_TYPE_UNKNOWN;
+        }
+
+        @Override
+        public long contentLength() {
+            return body.size();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            sink.write(body);
+        }
+    }
+
+    /**
+     * Gzip source that reports the compressed and decompressed number of
+     * bytes read when it is closed.
+     */
+    private static final class DecompressingSource extends ForwardingSource {
+        private final CountingSource compressed;
+        private final CompressionPolicy compression;
+        private long size;
+        private boolean closed;
+
+        DecompressingSource(Source source, CompressionPolicy compression) {
+            this(new CountingSource(source), compression);
+        }
 
-            if (!response.isSuccessful()) {
-                throw new HttpException(response.code(), response.message(), path);
+        private DecompressingSource(CountingSource compressed, CompressionPolicy compression) {
+            super(new GzipSource(compressed));
+            this.compressed = compressed;
+            this.compression = compression;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+
+            if (read > 0) {
+                size += read;
+            }
+
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                compression.onResponseDecompressed(compressed.size, size);
             }
 
+            super.close();
+        }
+    }
+
+    private static final class CountingSource extends ForwardingSource {
+        private long size;
+
+        CountingSource(Source source) {
+            super(source);
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read = super.read(sink, byteCount);
+
+            if (read > 0) {
+                size += read;
+            }
+
+            return read;
+        }
+    }
+
+    /**
+     * Measures one exchange and reports it to the instrumentation when it
+     * ends. Request and response bodies are wrapped to count their bytes.
+     */
+    private static final class Exchange {
+        static final Exchange NONE = new Exchange();
+
+        private final Instrumentation instrumentation;
+        private final String endpoint;
+        private final long start;
+        private CountingRequestBody requestBody;
+        private CountingSource responseBody;
+        private CallTimingListener timings;
+        private int status = -1;
+        private boolean ended;
+
+        private Exchange() {
+            this.instrumentation = null;
+            this.endpoint = null;
+            this.start = 0;
+        }
+
+        Exchange(Instrumentation instrumentation, String endpoint) {
+            this.instrumentation = instrumentation;
+            this.endpoint = endpoint;
+            this.start = System.nanoTime();
+            instrumentation.onRequestStart(endpoint);
+        }
+
+        Request track(Request request) {
+            if (instrumentation == null) {
+                return request;
+            }
+
+            Request.Builder builder = request.newBuilder().tag(Exchange.class, this);
+
+            if (request.body() != null) {
+                requestBody = new CountingRequestBody(request.body());
+                builder.method(request.method(), requestBody);
+            }
+
+            return builder.build();
+        }
+
+        EventListener listen(EventListener configured) {
+            timings = new CallTimingListener(configured);
+
+            return timings;
+        }
+
+        Response track(Response response) {
+            if (instrumentation == null) {
+                return response;
+            }
+
+            status = response.code();
             ResponseBody body = response.body();
 
             if (body == null) {
-                return null;
+                return response;
             }
 
-            if (body.contentLength() == 0) {
-                return null;
+            responseBody = new CountingSource(body.source());
+
+            return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(responseBody), body.contentType(), body.contentLength()))
+                .build();
+        }
+
+        void end() {
+            if (instrumentation == null || ended) {
+                return;
             }
 
-            return body.string();
-        } catch (IOException exception) {
-            throw new HttpException(-1, exception.toString(), path);
+            ended = true;
+            instrumentation.onRequestEnd(
+                endpoint,
+                status,
+                System.nanoTime() - start,
+                requestBody == null ? 0 : requestBody.size,
+                responseBody == null ? 0 : responseBody.size
+            );
+
+            if (timings != null) {
+                instrumentation.onCallTimings(endpoint, timings.timings());
+            }
         }
     }
+
+    /**
+     * Request body that counts the bytes written by the body it wraps.
+     */
+    private static final class CountingRequestBody extends RequestBody {
+        private final RequestBody body;
+        private long size;
+
+        CountingRequestBody(RequestBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return body.contentLength();
+        }
+
+        @Override
+        public boolean isOneShot() {
+            return body.isOneShot();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            // when OkHttp retries on another connection, only count the last attempt
+            size = 0;
+            BufferedSink counting = Okio.buffer(new ForwardingSink(sink) {
+                @Override
+                public void write(Buffer source, long byteCount) throws IOException {
+                    size += byteCount;
+                    super.write(source, byteCount);
+                }
+            });
+            body.writeTo(counting);
+            counting.emit();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws Exception;
+    }
 }
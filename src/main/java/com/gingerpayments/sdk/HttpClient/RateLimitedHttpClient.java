@@ -0,0 +1,189 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * HTTP client that paces requests for one API key with a {@link RateLimiter}.
+ *
+ * Blocking requests wait on the calling thread for a token; asynchronous
+ * requests are scheduled for when their token becomes available, without
+ * blocking a thread. Requests that would wait longer than the maximum wait
+ * fail immediately with a {@link RequestRejectedException}.
+ *
+ * Rate limit headers are read from error responses, and from successful
+ * responses that have a body.
+ */
+public final class RateLimitedHttpClient extends ForwardingHttpClient {
+    private final RateLimiter rateLimiter;
+    private final String bucketKey;
+    private final long maxWaitNanos;
+
+    /**
+     * @param delegate HTTP client that executes the requests.
+     * @param rateLimiter Rate limiter, possibly shared with other clients.
+     * @param apiKey API key the requests are sent with.
+     */
+    public RateLimitedHttpClient(HttpClient delegate, RateLimiter rateLimiter, String apiKey) {
+        this(delegate, rateLimiter, apiKey, rateLimiter.getMaxWait());
+    }
+
+    /**
+     * @param delegate HTTP client that executes the requests.
+     * @param rateLimiter Rate limiter, possibly shared with other clients.
+     * @param apiKey API key the requests are sent with.
+     * @param maxWait How long requests of this client may wait for a token,
+     *                e.g. {@link Duration#ZERO} to fail fast.
+     */
+    public RateLimitedHttpClient(HttpClient delegate, RateLimiter rateLimiter, String apiKey, Duration maxWait) {
+        super(delegate);
+        this.rateLimiter = rateLimiter;
+        this.bucketKey = RateLimiter.bucketKey(apiKey);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    public <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        RateLimiter.Bucket bucket = rateLimiter.bucket(bucketKey);
+        long wait = acquire(bucket, path);
+
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException exception) {
+                bucket.unreserve();
+                Thread.currentThread().interrupt();
+                throw new RequestRejectedException("Interrupted while waiting for the rate limit", path);
+            }
+        }
+
+        try {
+            return super.request(method, path, headers, data, new ObservingReader<>(bucket, reader));
+        } catch (HttpException exception) {
+            bucket.onFailure(exception);
+            throw exception;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        RateLimiter.Bucket bucket = rateLimiter.bucket(bucketKey);
+        long wait;
+
+        try {
+            wait = acquire(bucket, path);
+        } catch (RequestRejectedException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+
+        if (wait == 0) {
+            return send(bucket, method, path, headers, data, reader);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone()) {
+                // cancelled while waiting for its token
+                bucket.unreserve();
+                return;
+            }
+
+            CompletableFuture<T> request = send(bucket, method, path, headers, data, reader);
+            request.whenComplete((value, exception) -> {
+                if (exception == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(unwrap(exception));
+                }
+            });
+            result.whenComplete((value, exception) -> {
+                if (result.isCancelled()) {
+                    request.cancel(true);
+                }
+            });
+        });
+
+        return result;
+    }
+
+    private <T> CompletableFuture<T> send(
+        RateLimiter.Bucket bucket,
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        CompletableFuture<T> request = super.requestAsync(method, path, headers, data, new ObservingReader<>(bucket, reader));
+        request.whenComplete((value, exception) -> {
+            Throwable cause = unwrap(exception);
+
+            if (cause instanceof HttpException) {
+                bucket.onFailure((HttpException) cause);
+            }
+        });
+
+        return request;
+    }
+
+    private long acquire(RateLimiter.Bucket bucket, String path) throws RequestRejectedException {
+        long wait = bucket.reserve(maxWaitNanos);
+
+        if (wait < 0) {
+            throw new RequestRejectedException("Rate limit reached", path);
+        }
+
+        return wait;
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        return exception instanceof CompletionException && exception.getCause() != null
+            ? exception.getCause()
+            : exception;
+    }
+
+    /**
+     * Response reader that passes the response headers to the bucket before
+     * decoding the body.
+     */
+    private static final class ObservingReader<T, E extends Exception> implements ResponseReader<T, E> {
+        private final RateLimiter.Bucket bucket;
+        private final ResponseReader<T, E> reader;
+
+        ObservingReader(RateLimiter.Bucket bucket, ResponseReader<T, E> reader) {
+            this.bucket = bucket;
+            this.reader = reader;
+        }
+
+        @Override
+        public T read(InputStream body) throws IOException, E {
+            return reader.read(body);
+        }
+
+        @Override
+        public T read(InputStream body, Function<String, String> headers) throws IOException, E {
+            bucket.onResponse(headers);
+
+            return reader.read(body, headers);
+        }
+    }
+}
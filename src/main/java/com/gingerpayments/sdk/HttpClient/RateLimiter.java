@@ -0,0 +1,444 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Token bucket rate limit on outgoing requests, per API key.
+ *
+ * Each API key gets a bucket that refills at the configured rate, up to the
+ * burst size; every request takes one token. The rate adapts to the API: a
+ * <code>429 Too Many Requests</code> response halves it, and pauses the
+ * bucket until the time given by <code>Retry-After</code>. The
+ * <code>RateLimit-Remaining</code> and <code>RateLimit-Reset</code> headers,
+ * or their <code>X-</code> prefixed variants, lower the rate to what the
+ * remaining quota allows. Without such signals, the rate recovers to the
+ * configured rate gradually.
+ *
+ * A rate limiter can be shared by any number of clients; clients for the same
+ * API key share its bucket. Buckets are kept by a digest of the API key
+ * rather than the key itself. A bucket that has been full and unused for a
+ * minute is dropped, so a later request for its key starts over at the
+ * configured rate.
+ */
+public final class RateLimiter {
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Reset values above this are taken to be Unix timestamps rather than
+     * a number of seconds.
+     */
+    private static final long EPOCH_SECONDS_THRESHOLD = 1_000_000_000L;
+
+    private static final long IDLE_BUCKET_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final double permitsPerSecond;
+    private final double minPermitsPerSecond;
+    private final int burst;
+    private final Duration maxWait;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong sweptAt = new AtomicLong(System.nanoTime());
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    private RateLimiter(Builder builder) {
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.minPermitsPerSecond = builder.minPermitsPerSecond;
+        this.burst = builder.burst;
+        this.maxWait = builder.maxWait;
+    }
+
+    /**
+     * @return New rate limiter builder, initialized with the default settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param apiKey API key
+     * @return Current rate for the API key, in requests per second.
+     */
+    public double getRate(String apiKey) {
+        return bucketFor(apiKey).getRate();
+    }
+
+    /**
+     * @return Number of requests that waited for a token.
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * @return Number of requests rejected because no token became available
+     *         within the maximum wait.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return Number of <code>429 Too Many Requests</code> responses received.
+     */
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    /**
+     * @return How long requests wait for a token by default.
+     */
+    Duration getMaxWait() {
+        return maxWait;
+    }
+
+    /**
+     * @param apiKey API key
+     * @return Bucket of the API key.
+     */
+    Bucket bucketFor(String apiKey) {
+        return bucket(bucketKey(apiKey));
+    }
+
+    /**
+     * Look up a bucket, and drop idle buckets at most once per idle period.
+     *
+     * Clients look their bucket up for every request rather than keeping
+     * it, so a dropped bucket is never used again. A request that looked it
+     * up just before it was dropped takes its token from the dropped, full
+     * bucket, which lets at most one extra request through.
+     *
+     * @param key Bucket key, see {@link #bucketKey}.
+     * @return Bucket of the key.
+     */
+    Bucket bucket(String key) {
+        long now = System.nanoTime();
+        long swept = sweptAt.get();
+
+        if (now - swept >= IDLE_BUCKET_NANOS && sweptAt.compareAndSet(swept, now)) {
+            dropIdleBuckets(now);
+        }
+
+        Bucket bucket = buckets.get(key);
+
+        return bucket != null ? bucket : buckets.computeIfAbsent(key, k -> new Bucket());
+    }
+
+    /**
+     * @param now Current time, from {@link System#nanoTime()}.
+     */
+    void dropIdleBuckets(long now) {
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    /**
+     * @return Number of buckets kept.
+     */
+    int getBucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * @param apiKey API key
+     * @return Key of the API key's bucket: a SHA-256 digest, so the rate
+     *         limiter does not hold on to the secret.
+     */
+    static String bucketKey(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            // every Java platform implementation supports SHA-256
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * @param value <code>Retry-After</code> header value: a number of seconds or an HTTP date.
+     * @param nowMillis Current time, in milliseconds since the epoch.
+     * @return Delay in nanoseconds, or <code>-1</code> when the value is absent or invalid.
+     */
+    static long retryAfterNanos(String value, long nowMillis) {
+        if (value == null) {
+            return -1;
+        }
+
+        long seconds = parseNumber(value);
+
+        if (seconds >= 0) {
+            return TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        try {
+            long at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, at - nowMillis));
+        } catch (DateTimeParseException exception) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param value Rate limit reset header value: a number of seconds or a Unix timestamp.
+     * @param nowMillis Current time, in milliseconds since the epoch.
+     * @return Time until the reset in nanoseconds, or <code>-1</code> when the value is absent or invalid.
+     */
+    static long resetNanos(String value, long nowMillis) {
+        long seconds = value == null ? -1 : parseNumber(value);
+
+        if (seconds < EPOCH_SECONDS_THRESHOLD) {
+            return seconds < 0 ? -1 : TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, TimeUnit.SECONDS.toMillis(seconds) - nowMillis));
+    }
+
+    /**
+     * @return The value rounded up, or <code>-1</code> when it is not a number.
+     */
+    private static long parseNumber(String value) {
+        try {
+            return Math.max(0, (long) Math.ceil(Double.parseDouble(value.trim())));
+        } catch (NumberFormatException exception) {
+            return -1;
+        }
+    }
+
+    private static String header(Function<String, String> headers, String name) {
+        String value = headers.apply(name);
+
+        return value != null ? value : headers.apply("X-" + name);
+    }
+
+    /**
+     * Token bucket of a single API key.
+     *
+     * The token count may drop below zero: each negative token is a request
+     * that has been granted a later send time. While the bucket is paused,
+     * its refill time lies in the future.
+     */
+    final class Bucket {
+        private double rate = permitsPerSecond;
+        private double tokens = burst;
+        private long refilledAt = System.nanoTime();
+
+        synchronized double getRate() {
+            return rate;
+        }
+
+        /**
+         * @param now Current time, from {@link System#nanoTime()}.
+         * @return Whether the bucket has not been used for the idle period
+         *         and has refilled completely, so it may be dropped.
+         */
+        synchronized boolean isIdle(long now) {
+            // every use refills the bucket; a paused bucket refills in the future
+            if (now - refilledAt < IDLE_BUCKET_NANOS) {
+                return false;
+            }
+
+            refill(now);
+
+            return tokens >= burst;
+        }
+
+        /**
+         * Take a token, if one becomes available in time.
+         *
+         * @param maxWaitNanos Longest acceptable wait.
+         * @return How long to wait before sending the request, in
+         *         nanoseconds, or <code>-1</code> when the wait would exceed
+         *         the maximum; no token is taken then.
+         */
+        long reserve(long maxWaitNanos) {
+            long wait;
+
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+                wait = tokens >= 1 ? 0 : refilledAt - now + (long) ((1 - tokens) / rate * NANOS_PER_SECOND);
+
+                if (wait > maxWaitNanos) {
+                    wait = -1;
+                } else {
+                    tokens--;
+                }
+            }
+
+            if (wait < 0) {
+                rejected.increment();
+            } else if (wait > 0) {
+                throttled.increment();
+            }
+
+            return wait;
+        }
+
+        /**
+         * Give back a token taken by {@link #reserve} for a request that was
+         * not sent after all. A paused bucket stays paused.
+         */
+        synchronized void unreserve() {
+            long now = System.nanoTime();
+            refill(now);
+            tokens = Math.min(now - refilledAt < 0 ? 0 : burst, tokens + 1);
+        }
+
+        /**
+         * Adapt to the rate limit headers of a response; without them, the
+         * rate recovers by 5% of the configured rate.
+         *
+         * @param headers Looks up a response header by name.
+         */
+        void onResponse(Function<String, String> headers) {
+            String remainingHeader = header(headers, "RateLimit-Remaining");
+            long remaining = remainingHeader == null ? -1 : parseNumber(remainingHeader);
+            long resetNanos = resetNanos(header(headers, "RateLimit-Reset"), System.currentTimeMillis());
+
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+
+                if (remaining < 0 || resetNanos < 0) {
+                    rate = Math.min(permitsPerSecond, rate + permitsPerSecond / 20);
+                } else if (remaining == 0) {
+                    pauseFor(now, resetNanos);
+                } else {
+                    double allowed = remaining * (double) NANOS_PER_SECOND / Math.max(resetNanos, NANOS_PER_SECOND);
+                    rate = Math.max(minPermitsPerSecond, Math.min(permitsPerSecond, allowed));
+                }
+            }
+        }
+
+        /**
+         * Back off after a <code>429 Too Many Requests</code> response: halve
+         * the rate, and pause until the time given by <code>Retry-After</code>,
+         * or the rate limit reset, when present.
+         *
+         * @param exception HTTP error.
+         */
+        void onFailure(HttpException exception) {
+            if (exception.getErrorNumber() != 429) {
+                return;
+            }
+
+            rateLimited.increment();
+            long nowMillis = System.currentTimeMillis();
+            long pauseNanos = retryAfterNanos(exception.getResponseHeader("Retry-After"), nowMillis);
+
+            if (pauseNanos < 0) {
+                pauseNanos = resetNanos(header(exception::getResponseHeader, "RateLimit-Reset"), nowMillis);
+            }
+
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+                rate = Math.max(minPermitsPerSecond, rate / 2);
+                pauseFor(now, pauseNanos >= 0 ? pauseNanos : (long) (NANOS_PER_SECOND / rate));
+            }
+        }
+
+        private void refill(long now) {
+            if (now - refilledAt > 0) {
+                tokens = Math.min(burst, tokens + (now - refilledAt) * rate / NANOS_PER_SECOND);
+                refilledAt = now;
+            }
+        }
+
+        private void pauseFor(long now, long pauseNanos) {
+            tokens = Math.min(tokens, 0);
+
+            if (now + pauseNanos - refilledAt > 0) {
+                refilledAt = now + pauseNanos;
+            }
+        }
+    }
+
+    /**
+     * Builder for rate limiters.
+     *
+     * By default each API key may send 10 requests per second, in bursts of
+     * up to 10 requests, and the rate does not drop below 1 request per
+     * second. Requests wait up to 30 seconds for a token.
+     */
+    public static final class Builder {
+        private double permitsPerSecond = 10;
+        private double minPermitsPerSecond = 1;
+        private int burst = 10;
+        private Duration maxWait = Duration.ofSeconds(30);
+
+        private Builder() {}
+
+        /**
+         * @param permitsPerSecond Requests per second allowed for each API key.
+         * @param burst Number of requests that may be sent at once after a quiet period.
+         * @return This builder.
+         */
+        public Builder rate(double permitsPerSecond, int burst) {
+            if (permitsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Invalid rate limit");
+            }
+
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * @param minPermitsPerSecond Lowest rate the limiter backs off to.
+         * @return This builder.
+         */
+        public Builder minRate(double minPermitsPerSecond) {
+            if (minPermitsPerSecond <= 0) {
+                throw new IllegalArgumentException("The minimum rate must be positive");
+            }
+
+            this.minPermitsPerSecond = minPermitsPerSecond;
+            return this;
+        }
+
+        /**
+         * @param maxWait How long a request may wait for a token before it is
+         *                rejected with a {@link RequestRejectedException}.
+         * @return This builder.
+         */
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        /**
+         * Reject requests immediately when no token is available, instead of waiting.
+         *
+         * @return This builder.
+         */
+        public Builder failFast() {
+            return maxWait(Duration.ZERO);
+        }
+
+        /**
+         * @return Configured rate limiter.
+         */
+        public RateLimiter build() {
+            if (minPermitsPerSecond > permitsPerSecond) {
+                throw new IllegalArgumentException("The minimum rate exceeds the rate");
+            }
+
+            return new RateLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.gingerpayments.sdk.HttpClient;
+
+/**
+ * Thrown when a request is rejected before it is sent, e.g. because a circuit
+ * breaker is open or a concurrency limit has been reached.
+ *
+ * Rejected requests are never retried.
+ */
+public final class RequestRejectedException extends HttpException {
+    /**
+     * @param reason Why the request was rejected.
+     * @param path Path used in the HTTP request.
+     */
+    public RequestRejectedException(String reason, String path) {
+        super(-1, reason, path);
+    }
+}
@@ -0,0 +1,55 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a request body directly to the network stream when the request is
+ * sent, so the body does not have to be materialized as a string first.
+ *
+ * A writer may be invoked more than once, e.g. when a request is retried, and
+ * must produce the same bytes every time.
+ */
+@FunctionalInterface
+public interface RequestWriter {
+    /**
+     * Write the request body.
+     *
+     * The stream is owned by the HTTP client and must not be closed by the
+     * writer.
+     *
+     * @param out Request body stream
+     * @throws IOException When the body could not be written.
+     */
+    void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * Write the request body into a string, for HTTP clients that cannot
+     * stream request bodies.
+     *
+     * @return Request body
+     * @throws IOException When the body could not be written.
+     */
+    default String writeToString() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+
+        return out.toString(StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * @param data Request body, may be <code>null</code>.
+     * @return Writer for the given body, or <code>null</code> when there is no body.
+     */
+    static RequestWriter of(String data) {
+        if (data == null) {
+            return null;
+        }
+
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+
+        return out -> out.write(bytes);
+    }
+}
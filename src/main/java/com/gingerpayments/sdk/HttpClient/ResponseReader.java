@@ -0,0 +1,45 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+/**
+ * Decodes a response body directly from the network stream, so the body does
+ * not have to be materialized as a string first.
+ *
+ * @param <T> Decoded value type.
+ * @param <E> Exception thrown when the body cannot be decoded.
+ */
+@FunctionalInterface
+public interface ResponseReader<T, E extends Exception> {
+    /**
+     * Decode a response body.
+     *
+     * The stream is owned by the HTTP client and must not be closed by the
+     * reader. It is never empty.
+     *
+     * @param body Response body
+     * @return Decoded value
+     * @throws IOException When the body could not be read.
+     * @throws E When the body could not be decoded.
+     */
+    T read(InputStream body) throws IOException, E;
+
+    /**
+     * Decode a response body, with access to the response headers.
+     *
+     * HTTP clients that expose response headers call this method; the default
+     * implementation ignores the headers. Clients that buffer the response
+     * may call {@link #read(InputStream)} instead.
+     *
+     * @param body Response body
+     * @param headers Looks up a response header by name, returning <code>null</code> when it is absent
+     * @return Decoded value
+     * @throws IOException When the body could not be read.
+     * @throws E When the body could not be decoded.
+     */
+    default T read(InputStream body, Function<String, String> headers) throws IOException, E {
+        return read(body);
+    }
+}
@@ -0,0 +1,188 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which failed requests are retried and how long to wait in between.
+ *
+ * Backoff grows exponentially per attempt and is fully jittered, i.e. the
+ * actual delay is a random value between zero and the exponential delay, so
+ * clients that failed at the same moment do not retry in lockstep.
+ *
+ * Only idempotent requests are retried: GET, HEAD, PUT, DELETE and OPTIONS
+ * requests, and requests that carry an {@value #IDEMPOTENCY_KEY_HEADER}
+ * header.
+ */
+public final class RetryPolicy {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Set<Integer> retryableStatusCodes;
+    private final boolean idempotencyKeys;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoffMillis = builder.initialBackoff.toMillis();
+        this.maxBackoffMillis = builder.maxBackoff.toMillis();
+        this.retryableStatusCodes = builder.retryableStatusCodes;
+        this.idempotencyKeys = builder.idempotencyKeys;
+    }
+
+    /**
+     * @return New policy builder, initialized with the default settings.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Maximum number of attempts per request, including the first one.
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return Whether non-idempotent requests get an idempotency key, so they
+     *         can be retried safely.
+     */
+    public boolean usesIdempotencyKeys() {
+        return idempotencyKeys;
+    }
+
+    /**
+     * @param method HTTP method of the failed request.
+     * @param headers Headers of the failed request.
+     * @param exception Failure of the last attempt.
+     * @param attempt Number of the attempt that failed, starting at 1.
+     * @return Whether the request should be attempted again.
+     */
+    public boolean shouldRetry(String method, Map<String, String> headers, HttpException exception, int attempt) {
+        if (attempt >= maxAttempts || exception instanceof RequestRejectedException) {
+            return false;
+        }
+
+        if (!IDEMPOTENT_METHODS.contains(method) && !hasIdempotencyKey(headers)) {
+            return false;
+        }
+
+        return exception.getErrorNumber() == -1 || retryableStatusCodes.contains(exception.getErrorNumber());
+    }
+
+    /**
+     * @param attempt Number of the attempt that failed, starting at 1.
+     * @return Jittered delay before the next attempt, in milliseconds.
+     */
+    public long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * @param method HTTP method of the request.
+     * @return Whether an idempotency key should be attached to the request.
+     */
+    boolean needsIdempotencyKey(String method) {
+        return idempotencyKeys && !IDEMPOTENT_METHODS.contains(method);
+    }
+
+    /**
+     * @param headers Request headers, may be <code>null</code>.
+     * @return Whether the headers contain an idempotency key; header names
+     *         are case-insensitive.
+     */
+    static boolean hasIdempotencyKey(Map<String, String> headers) {
+        if (headers == null) {
+            return false;
+        }
+
+        for (String name : headers.keySet()) {
+            if (IDEMPOTENCY_KEY_HEADER.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Builder for retry policies.
+     *
+     * By default requests are attempted 3 times, with a backoff starting at
+     * 100 milliseconds and capped at 2 seconds. I/O errors and the HTTP
+     * statuses 408, 429, 502, 503 and 504 are retried.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private Set<Integer> retryableStatusCodes = Set.of(408, 429, 502, 503, 504);
+        private boolean idempotencyKeys = true;
+
+        private Builder() {}
+
+        /**
+         * @param maxAttempts Maximum number of attempts per request, including the first one.
+         * @return This builder.
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("At least one attempt is required");
+            }
+
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * @param initialBackoff Maximum delay before the first retry.
+         * @param maxBackoff Upper bound for the delay before any retry.
+         * @return This builder.
+         */
+        public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        /**
+         * @param retryableStatusCodes HTTP statuses that are retried; I/O
+         *                             errors are always retried.
+         * @return This builder.
+         */
+        public Builder retryableStatusCodes(Set<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = Collections.unmodifiableSet(new HashSet<>(retryableStatusCodes));
+            return this;
+        }
+
+        /**
+         * @param idempotencyKeys Whether to attach an idempotency key to
+         *                        requests with a non-idempotent method,
+         *                        such as POST and PATCH, so they can be
+         *                        retried. Without a key, such requests are
+         *                        never retried.
+         * @return This builder.
+         */
+        public Builder idempotencyKeys(boolean idempotencyKeys) {
+            this.idempotencyKeys = idempotencyKeys;
+            return this;
+        }
+
+        /**
+         * @return Configured retry policy.
+         */
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
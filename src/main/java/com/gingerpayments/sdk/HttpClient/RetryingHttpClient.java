@@ -0,0 +1,128 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP client that retries failed requests according to a {@link RetryPolicy}.
+ *
+ * When the policy uses idempotency keys, non-idempotent requests get a random
+ * {@value RetryPolicy#IDEMPOTENCY_KEY_HEADER} header, unless the caller
+ * already supplied one. The same key is sent with every attempt, so the server
+ * can recognize retries of a request it has already processed.
+ */
+public final class RetryingHttpClient extends ForwardingHttpClient {
+    private final RetryPolicy policy;
+
+    /**
+     * @param delegate HTTP client that executes the requests.
+     * @param policy Retry policy.
+     */
+    public RetryingHttpClient(HttpClient delegate, RetryPolicy policy) {
+        super(delegate);
+        this.policy = policy;
+    }
+
+    @Override
+    public <T, E extends Exception> T request(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, E> reader
+    ) throws HttpException, E {
+        Map<String, String> attemptHeaders = withIdempotencyKey(method, headers);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return super.request(method, path, attemptHeaders, data, reader);
+            } catch (HttpException exception) {
+                if (!policy.shouldRetry(method, attemptHeaders, exception, attempt)) {
+                    throw exception;
+                }
+
+                try {
+                    Thread.sleep(policy.backoffMillis(attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw exception;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retries are scheduled without blocking a thread during the backoff.
+     */
+    @Override
+    public <T> CompletableFuture<T> requestAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader
+    ) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attemptAsync(method, path, withIdempotencyKey(method, headers), data, reader, 1, result);
+
+        return result;
+    }
+
+    private <T> void attemptAsync(
+        String method,
+        String path,
+        Map<String, String> headers,
+        RequestWriter data,
+        ResponseReader<T, ?> reader,
+        int attempt,
+        CompletableFuture<T> result
+    ) {
+        if (result.isDone()) {
+            return;
+        }
+
+        CompletableFuture<T> request = super.requestAsync(method, path, headers, data, reader);
+
+        request.whenComplete((value, exception) -> {
+            if (exception == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause()
+                : exception;
+
+            if (cause instanceof HttpException && policy.shouldRetry(method, headers, (HttpException) cause, attempt)) {
+                CompletableFuture.delayedExecutor(policy.backoffMillis(attempt), TimeUnit.MILLISECONDS)
+                    .execute(() -> attemptAsync(method, path, headers, data, reader, attempt + 1, result));
+            } else {
+                result.completeExceptionally(cause);
+            }
+        });
+        result.whenComplete((value, exception) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+    }
+
+    private Map<String, String> withIdempotencyKey(String method, Map<String, String> headers) {
+        if (!policy.needsIdempotencyKey(method)) {
+            return headers;
+        }
+
+        if (RetryPolicy.hasIdempotencyKey(headers)) {
+            return headers;
+        }
+
+        Map<String, String> keyedHeaders = headers == null ? new HashMap<>() : new HashMap<>(headers);
+        keyedHeaders.put(RetryPolicy.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+
+        return keyedHeaders;
+    }
+}
@@ -0,0 +1,91 @@
+package com.gingerpayments.sdk.Model;
+
+/**
+ * An iDEAL issuer, i.e. a bank the customer can pay with.
+ *
+ * Instances are immutable.
+ */
+public final class Issuer {
+    private final String id;
+    private final String name;
+    private final String listType;
+
+    private Issuer(Builder builder) {
+        this.id = builder.id;
+        this.name = builder.name;
+        this.listType = builder.listType;
+    }
+
+    /**
+     * @return New issuer builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The issuer ID, i.e. its BIC.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The issuer name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The group the issuer is listed under, e.g. the country.
+     */
+    public String getListType() {
+        return listType;
+    }
+
+    /**
+     * Builder for {@link Issuer} instances.
+     */
+    public static final class Builder {
+        private String id;
+        private String name;
+        private String listType;
+
+        private Builder() {}
+
+        /**
+         * @param id The issuer ID, i.e. its BIC.
+         * @return This builder.
+         */
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        /**
+         * @param name The issuer name.
+         * @return This builder.
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * @param listType The group the issuer is listed under, e.g. the country.
+         * @return This builder.
+         */
+        public Builder listType(String listType) {
+            this.listType = listType;
+            return this;
+        }
+
+        /**
+         * @return The issuer.
+         */
+        public Issuer build() {
+            return new Issuer(this);
+        }
+    }
+}
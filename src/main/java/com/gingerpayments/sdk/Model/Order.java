@@ -0,0 +1,304 @@
+package com.gingerpayments.sdk.Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An order, as returned by the API.
+ *
+ * Instances are immutable.
+ */
+public final class Order {
+    private final String id;
+    private final String projectId;
+    private final String merchantOrderId;
+    private final String status;
+    private final String currency;
+    private final Long amount;
+    private final String description;
+    private final String returnUrl;
+    private final String orderUrl;
+    private final String created;
+    private final String modified;
+    private final String completed;
+    private final List<String> flags;
+    private final List<Transaction> transactions;
+
+    private Order(Builder builder) {
+        this.id = builder.id;
+        this.projectId = builder.projectId;
+        this.merchantOrderId = builder.merchantOrderId;
+        this.status = builder.status;
+        this.currency = builder.currency;
+        this.amount = builder.amount;
+        this.description = builder.description;
+        this.returnUrl = builder.returnUrl;
+        this.orderUrl = builder.orderUrl;
+        this.created = builder.created;
+        this.modified = builder.modified;
+        this.completed = builder.completed;
+        this.flags = Collections.unmodifiableList(new ArrayList<>(builder.flags));
+        this.transactions = Collections.unmodifiableList(new ArrayList<>(builder.transactions));
+    }
+
+    /**
+     * @return New order builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The order ID.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return ID of the project the order belongs to.
+     */
+    public String getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * @return The merchant's own order ID, or <code>null</code>.
+     */
+    public String getMerchantOrderId() {
+        return merchantOrderId;
+    }
+
+    /**
+     * @return The order status, e.g. <code>new</code> or <code>completed</code>.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The ISO 4217 currency code.
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return The amount in cents, or <code>null</code> when the API did not return it.
+     */
+    public Long getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return The order description, or <code>null</code>.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return URL the customer returns to after payment, or <code>null</code>.
+     */
+    public String getReturnUrl() {
+        return returnUrl;
+    }
+
+    /**
+     * @return URL of the hosted payment page, or <code>null</code>.
+     */
+    public String getOrderUrl() {
+        return orderUrl;
+    }
+
+    /**
+     * @return When the order was created, as an ISO 8601 timestamp.
+     */
+    public String getCreated() {
+        return created;
+    }
+
+    /**
+     * @return When the order was last modified, as an ISO 8601 timestamp.
+     */
+    public String getModified() {
+        return modified;
+    }
+
+    /**
+     * @return When the order was completed, as an ISO 8601 timestamp, or <code>null</code>.
+     */
+    public String getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return The order flags.
+     */
+    public List<String> getFlags() {
+        return flags;
+    }
+
+    /**
+     * @return The transactions of the order.
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Builder for {@link Order} instances.
+     */
+    public static final class Builder {
+        private String id;
+        private String projectId;
+        private String merchantOrderId;
+        private String status;
+        private String currency;
+        private Long amount;
+        private String description;
+        private String returnUrl;
+        private String orderUrl;
+        private String created;
+        private String modified;
+        private String completed;
+        private List<String> flags = Collections.emptyList();
+        private List<Transaction> transactions = Collections.emptyList();
+
+        private Builder() {}
+
+        /**
+         * @param id The order ID.
+         * @return This builder.
+         */
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        /**
+         * @param projectId ID of the project the order belongs to.
+         * @return This builder.
+         */
+        public Builder projectId(String projectId) {
+            this.projectId = projectId;
+            return this;
+        }
+
+        /**
+         * @param merchantOrderId The merchant's own order ID, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder merchantOrderId(String merchantOrderId) {
+            this.merchantOrderId = merchantOrderId;
+            return this;
+        }
+
+        /**
+         * @param status The order status, e.g. <code>new</code> or <code>completed</code>.
+         * @return This builder.
+         */
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * @param currency The ISO 4217 currency code.
+         * @return This builder.
+         */
+        public Builder currency(String currency) {
+            this.currency = currency;
+            return this;
+        }
+
+        /**
+         * @param amount The amount in cents, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder amount(Long amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * @param description The order description, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * @param returnUrl URL the customer returns to after payment, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder returnUrl(String returnUrl) {
+            this.returnUrl = returnUrl;
+            return this;
+        }
+
+        /**
+         * @param orderUrl URL of the hosted payment page, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder orderUrl(String orderUrl) {
+            this.orderUrl = orderUrl;
+            return this;
+        }
+
+        /**
+         * @param created When the order was created, as an ISO 8601 timestamp.
+         * @return This builder.
+         */
+        public Builder created(String created) {
+            this.created = created;
+            return this;
+        }
+
+        /**
+         * @param modified When the order was last modified, as an ISO 8601 timestamp.
+         * @return This builder.
+         */
+        public Builder modified(String modified) {
+            this.modified = modified;
+            return this;
+        }
+
+        /**
+         * @param completed When the order was completed, as an ISO 8601 timestamp, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder completed(String completed) {
+            this.completed = completed;
+            return this;
+        }
+
+        /**
+         * @param flags The order flags.
+         * @return This builder.
+         */
+        public Builder flags(List<String> flags) {
+            this.flags = flags;
+            return this;
+        }
+
+        /**
+         * @param transactions The transactions of the order.
+         * @return This builder.
+         */
+        public Builder transactions(List<Transaction> transactions) {
+            this.transactions = transactions;
+            return this;
+        }
+
+        /**
+         * @return The order.
+         */
+        public Order build() {
+            return new Order(this);
+        }
+    }
+}
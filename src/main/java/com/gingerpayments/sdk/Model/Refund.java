@@ -0,0 +1,190 @@
+package com.gingerpayments.sdk.Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A refund, as returned when an order is refunded.
+ *
+ * Instances are immutable.
+ */
+public final class Refund {
+    private final String id;
+    private final String merchantOrderId;
+    private final String status;
+    private final String currency;
+    private final Long amount;
+    private final String description;
+    private final String created;
+    private final List<Transaction> transactions;
+
+    private Refund(Builder builder) {
+        this.id = builder.id;
+        this.merchantOrderId = builder.merchantOrderId;
+        this.status = builder.status;
+        this.currency = builder.currency;
+        this.amount = builder.amount;
+        this.description = builder.description;
+        this.created = builder.created;
+        this.transactions = Collections.unmodifiableList(new ArrayList<>(builder.transactions));
+    }
+
+    /**
+     * @return New refund builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The refund ID.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The merchant's own order ID, or <code>null</code>.
+     */
+    public String getMerchantOrderId() {
+        return merchantOrderId;
+    }
+
+    /**
+     * @return The refund status.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return The ISO 4217 currency code.
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return The refunded amount in cents, or <code>null</code> when the API did not return it.
+     */
+    public Long getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return The refund description, or <code>null</code>.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return When the refund was created, as an ISO 8601 timestamp.
+     */
+    public String getCreated() {
+        return created;
+    }
+
+    /**
+     * @return The transactions that pay out the refund.
+     */
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Builder for {@link Refund} instances.
+     */
+    public static final class Builder {
+        private String id;
+        private String merchantOrderId;
+        private String status;
+        private String currency;
+        private Long amount;
+        private String description;
+        private String created;
+        private List<Transaction> transactions = Collections.emptyList();
+
+        private Builder() {}
+
+        /**
+         * @param id The refund ID.
+         * @return This builder.
+         */
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        /**
+         * @param merchantOrderId The merchant's own order ID, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder merchantOrderId(String merchantOrderId) {
+            this.merchantOrderId = merchantOrderId;
+            return this;
+        }
+
+        /**
+         * @param status The refund status.
+         * @return This builder.
+         */
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * @param currency The ISO 4217 currency code.
+         * @return This builder.
+         */
+        public Builder currency(String currency) {
+            this.currency = currency;
+            return this;
+        }
+
+        /**
+         * @param amount The refunded amount in cents, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder amount(Long amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * @param description The refund description, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder description(String description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * @param created When the refund was created, as an ISO 8601 timestamp.
+         * @return This builder.
+         */
+        public Builder created(String created) {
+            this.created = created;
+            return this;
+        }
+
+        /**
+         * @param transactions The transactions that pay out the refund.
+         * @return This builder.
+         */
+        public Builder transactions(List<Transaction> transactions) {
+            this.transactions = transactions;
+            return this;
+        }
+
+        /**
+         * @return The refund.
+         */
+        public Refund build() {
+            return new Refund(this);
+        }
+    }
+}
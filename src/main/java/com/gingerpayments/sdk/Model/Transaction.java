@@ -0,0 +1,244 @@
+package com.gingerpayments.sdk.Model;
+
+/**
+ * A payment transaction of an order.
+ *
+ * Instances are immutable.
+ */
+public final class Transaction {
+    private final String id;
+    private final String status;
+    private final String reason;
+    private final String paymentMethod;
+    private final String paymentUrl;
+    private final String currency;
+    private final Long amount;
+    private final String created;
+    private final String modified;
+    private final String completed;
+    private final Boolean capturable;
+
+    private Transaction(Builder builder) {
+        this.id = builder.id;
+        this.status = builder.status;
+        this.reason = builder.reason;
+        this.paymentMethod = builder.paymentMethod;
+        this.paymentUrl = builder.paymentUrl;
+        this.currency = builder.currency;
+        this.amount = builder.amount;
+        this.created = builder.created;
+        this.modified = builder.modified;
+        this.completed = builder.completed;
+        this.capturable = builder.capturable;
+    }
+
+    /**
+     * @return New transaction builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The transaction ID.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return The transaction status, e.g. <code>new</code> or <code>completed</code>.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Why the transaction failed or was cancelled, or <code>null</code>.
+     */
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * @return The payment method, e.g. <code>ideal</code>.
+     */
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    /**
+     * @return URL the customer is redirected to for payment, or <code>null</code>.
+     */
+    public String getPaymentUrl() {
+        return paymentUrl;
+    }
+
+    /**
+     * @return The ISO 4217 currency code.
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * @return The amount in cents, or <code>null</code> when the API did not return it.
+     */
+    public Long getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return When the transaction was created, as an ISO 8601 timestamp.
+     */
+    public String getCreated() {
+        return created;
+    }
+
+    /**
+     * @return When the transaction was last modified, as an ISO 8601 timestamp.
+     */
+    public String getModified() {
+        return modified;
+    }
+
+    /**
+     * @return When the transaction was completed, as an ISO 8601 timestamp, or <code>null</code>.
+     */
+    public String getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return Whether the transaction can be captured, or <code>null</code>
+     *         when the API did not return it.
+     */
+    public Boolean isCapturable() {
+        return capturable;
+    }
+
+    /**
+     * Builder for {@link Transaction} instances.
+     */
+    public static final class Builder {
+        private String id;
+        private String status;
+        private String reason;
+        private String paymentMethod;
+        private String paymentUrl;
+        private String currency;
+        private Long amount;
+        private String created;
+        private String modified;
+        private String completed;
+        private Boolean capturable;
+
+        private Builder() {}
+
+        /**
+         * @param id The transaction ID.
+         * @return This builder.
+         */
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        /**
+         * @param status The transaction status, e.g. <code>new</code> or <code>completed</code>.
+         * @return This builder.
+         */
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * @param reason Why the transaction failed or was cancelled, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder reason(String reason) {
+            this.reason = reason;
+            return this;
+        }
+
+        /**
+         * @param paymentMethod The payment method, e.g. <code>ideal</code>.
+         * @return This builder.
+         */
+        public Builder paymentMethod(String paymentMethod) {
+            this.paymentMethod = paymentMethod;
+            return this;
+        }
+
+        /**
+         * @param paymentUrl URL the customer is redirected to for payment, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder paymentUrl(String paymentUrl) {
+            this.paymentUrl = paymentUrl;
+            return this;
+        }
+
+        /**
+         * @param currency The ISO 4217 currency code.
+         * @return This builder.
+         */
+        public Builder currency(String currency) {
+            this.currency = currency;
+            return this;
+        }
+
+        /**
+         * @param amount The amount in cents, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder amount(Long amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        /**
+         * @param created When the transaction was created, as an ISO 8601 timestamp.
+         * @return This builder.
+         */
+        public Builder created(String created) {
+            this.created = created;
+            return this;
+        }
+
+        /**
+         * @param modified When the transaction was last modified, as an ISO 8601 timestamp.
+         * @return This builder.
+         */
+        public Builder modified(String modified) {
+            this.modified = modified;
+            return this;
+        }
+
+        /**
+         * @param completed When the transaction was completed, as an ISO 8601 timestamp, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder completed(String completed) {
+            this.completed = completed;
+            return this;
+        }
+
+        /**
+         * @param capturable Whether the transaction can be captured, or <code>null</code>.
+         * @return This builder.
+         */
+        public Builder capturable(Boolean capturable) {
+            this.capturable = capturable;
+            return this;
+        }
+
+        /**
+         * @return The transaction.
+         */
+        public Transaction build() {
+            return new Transaction(this);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gingerpayments.sdk;
+
+import com.gingerpayments.sdk.ApiClient.ApiClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creates API clients for multiple projects, e.g. one per merchant, on top of a
+ * single shared HTTP transport.
+ *
+ * Clients are cached per API key. When more than the configured number of
+ * clients is cached, the least recently used client is evicted; evicted
+ * clients remain usable.
+ */
+public final class TenantClientFactory {
+    private final Function<String, ApiClient> clientFactory;
+    private final Map<String, ApiClient> clients;
+
+    /**
+     * @param clientFactory Creates a client for an API key on the shared transport.
+     * @param maxCachedClients Maximum number of clients kept for reuse.
+     */
+    TenantClientFactory(Function<String, ApiClient> clientFactory, int maxCachedClients) {
+        if (maxCachedClients < 1) {
+            throw new IllegalArgumentException("At least one client must be cached");
+        }
+
+        this.clientFactory = clientFactory;
+        this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ApiClient> eldest) {
+                return size() > maxCachedClients;
+            }
+        };
+    }
+
+    /**
+     * Get the API client for a project.
+     *
+     * @param apiKey Project API key.
+     * @return API client using the shared transport.
+     */
+    public ApiClient forApiKey(String apiKey) {
+        if (apiKey == null) {
+            throw new IllegalArgumentException("An API key is required");
+        }
+
+        synchronized (clients) {
+            return clients.computeIfAbsent(apiKey, clientFactory);
+        }
+    }
+
+    /**
+     * @return Number of cached clients.
+     */
+    public int size() {
+        synchronized (clients) {
+            return clients.size();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public final class JsonCodecTest {
+    private static final List<JsonCodec> CODECS = List.of(new OrgJsonCodec(), new JacksonJsonCodec());
+
+    private static final String ORDER = "{"
+        + "\"id\": \"fcbfdd3a-ea2c-4240-96b2-613d49b79a55\","
+        + "\"amount\": 995,"
+        + "\"rate\": 1.25,"
+        + "\"large\": 12345678901234567890,"
+        + "\"description\": \"\\\"quoted\\\" \\u20ac\","
+        + "\"completed\": null,"
+        + "\"is_capturable\": false,"
+        + "\"transactions\": [{\"payment_method\": \"ideal\", \"flags\": []}]"
+        + "}";
+
+    @Test
+    public void testItDecodesTheSameValues() throws Exception {
+        JSONObject expected = new JSONObject(ORDER);
+
+        for (JsonCodec codec : CODECS) {
+            JSONObject order = (JSONObject) codec.decode(stream(ORDER));
+
+            assertTrue(codec.getClass().getSimpleName(), order.similar(expected));
+            assertEquals(995, order.get("amount"));
+            assertEquals(new BigDecimal("1.25"), order.getBigDecimal("rate"));
+            assertEquals(JSONObject.NULL, order.get("completed"));
+        }
+    }
+
+    @Test
+    public void testItDecodesArrays() throws Exception {
+        for (JsonCodec codec : CODECS) {
+            JSONArray issuers = (JSONArray) codec.decode(stream("[{\"id\": \"INGBNL2A\"}, {\"id\": \"RABONL2U\"}]"));
+
+            assertEquals("RABONL2U", issuers.getJSONObject(1).getString("id"));
+        }
+    }
+
+    @Test
+    public void testItRejectsInvalidJson() {
+        for (JsonCodec codec : CODECS) {
+            assertThrows(JsonDecodeFailure.class, () -> codec.decode(stream("definately not json")));
+            assertThrows(JsonDecodeFailure.class, () -> codec.decode(stream("{\"id\": \"abc\"")));
+            assertThrows(JsonDecodeFailure.class, () -> codec.decode(stream("\"a plain JSON string\"")));
+        }
+    }
+
+    @Test
+    public void testItRejectsDataAfterTheDocument() throws Exception {
+        for (JsonCodec codec : CODECS) {
+            String name = codec.getClass().getSimpleName();
+
+            assertThrows(name, JsonDecodeFailure.class, () -> codec.decode(stream("{\"id\": \"abc\"}}")));
+            assertThrows(name, JsonDecodeFailure.class, () -> codec.decode(stream("[] x")));
+            assertEquals(name, "abc", ((JSONObject) codec.decode(stream("{\"id\": \"abc\"}\n"))).getString("id"));
+        }
+    }
+
+    @Test
+    public void testItEncodesRequestData() throws Exception {
+        JSONObject data = new JSONObject(ORDER)
+            .put("customer", Map.of("first_name", "John"));
+
+        for (JsonCodec codec : CODECS) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            codec.encode(data, out);
+
+            assertTrue(codec.getClass().getSimpleName(), new JSONObject(new String(out.toByteArray(), StandardCharsets.UTF_8)).similar(data));
+        }
+    }
+
+    @Test
+    public void testItFindsErrorMessages() {
+        String error = "{\"id\": \"abc\", \"details\": {\"error\": \"nested\"}, \"error\": {\"type\": \"NotFound\", \"status\": \"404\"}}";
+
+        for (JsonCodec codec : CODECS) {
+            assertEquals("NotFound", codec.findError(error).getString("type"));
+            assertNull(codec.findError("{\"error\": \"not an object\"}"));
+            assertNull(codec.findError("[{\"error\": {}}]"));
+            assertNull(codec.findError("plain text"));
+        }
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,162 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.gingerpayments.sdk.Allocations;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public final class JsonViewTest {
+    private static final String ORDER = "{"
+        + "\"id\": \"fcbfdd3a-ea2c-4240-96b2-613d49b79a55\","
+        + "\"status\": \"completed\","
+        + "\"amount\": 995,"
+        + "\"description\": \"Order \\\"12345\\\" \\u20ac, {not an object}\","
+        + "\"completed\": null,"
+        + "\"customer\": {\"address\": {\"country\": \"NL\"}, \"tags\": [\"a]\", 2]},"
+        + "\"transactions\": [{"
+        + "    \"id\": \"ddc76c84-3fc2-4a16-85b9-a895f6bdc696\","
+        + "    \"payment_url\": \"https:\\/\\/api.example.com\\/pay\","
+        + "    \"is_capturable\": true,"
+        + "    \"amount\": \"995\""
+        + "}]"
+        + "}";
+
+    @Test
+    public void testItReadsMembers() throws Exception {
+        JsonView order = JsonView.of(ORDER);
+
+        assertTrue(order.isObject());
+        assertEquals(7, order.length());
+        assertEquals(List.of("id", "status", "amount", "description", "completed", "customer", "transactions"), order.names());
+        assertEquals("completed", order.getString("status"));
+        assertEquals(995, order.getLong("amount"));
+        assertEquals("995", order.optString("amount"));
+        assertEquals("Order \"12345\" \u20ac, {not an object}", order.getString("description"));
+        assertTrue(order.isNull("completed"));
+        assertTrue(order.isNull("unknown"));
+        assertFalse(order.has("unknown"));
+        assertEquals("", order.optString("completed"));
+        assertEquals("NL", order.getJSONObject("customer").getJSONObject("address").getString("country"));
+        assertEquals("a]", order.getJSONObject("customer").getJSONArray("tags").getString(0));
+    }
+
+    @Test
+    public void testItReadsArrayElements() throws Exception {
+        JsonView transaction = JsonView.of(ORDER).getJSONArray("transactions").getJSONObject(0);
+
+        assertEquals("https://api.example.com/pay", transaction.getString("payment_url"));
+        assertTrue(transaction.getBoolean("is_capturable"));
+        assertEquals(995, transaction.getLong("amount"));
+        assertNull(JsonView.of(ORDER).getJSONArray("transactions").optJSONObject(1));
+    }
+
+    @Test
+    public void testItThrowsLikeJsonObject() throws Exception {
+        JsonView order = JsonView.of(ORDER);
+
+        assertThrows(JSONException.class, () -> order.getString("unknown"));
+        assertThrows(JSONException.class, () -> order.getString("amount"));
+        assertThrows(JSONException.class, () -> order.getJSONObject("transactions"));
+        assertThrows(JSONException.class, () -> order.getJSONArray("transactions").getJSONObject(1));
+        assertNull(order.optJSONObject("transactions"));
+        assertEquals(-1, order.optLong("status", -1));
+    }
+
+    @Test
+    public void testItConvertsToJsonObjects() throws Exception {
+        JsonView order = JsonView.of(ORDER);
+
+        assertTrue(order.toJSONObject().similar(new JSONObject(ORDER)));
+        assertEquals(1, order.getJSONArray("transactions").toJSONArray().length());
+    }
+
+    @Test
+    public void testItReportsMalformedJsonOnAccess() throws Exception {
+        assertThrows(JsonDecodeFailure.class, () -> JsonView.of("definately not json"));
+        assertThrows(JsonDecodeFailure.class, () -> JsonView.of("{\"id\": \"abc\""));
+
+        JsonView order = JsonView.of("{\"status\": \"new\", \"customer\": {\"name\" \"John\"}}");
+
+        assertEquals("new", order.getString("status"));
+        assertThrows(JSONException.class, () -> order.getJSONObject("customer").getString("name"));
+        assertThrows(JSONException.class, () -> JsonView.of("{\"status\": \"new\",}").getString("status"));
+    }
+
+    @Test
+    public void testItRejectsDataAfterTheDocument() throws Exception {
+        assertThrows(JSONException.class, () -> JsonView.of("{}}").length());
+        assertThrows(JSONException.class, () -> JsonView.of("[]]").length());
+        assertThrows(JSONException.class, () -> JsonView.of("{} x}").names());
+        assertThrows(JSONException.class, () -> JsonView.of("{\"id\": \"abc\"}}").getString("id"));
+        assertEquals(0, JsonView.of(" {} ").length());
+    }
+
+    @Test
+    public void testItRejectsInvalidLiterals() throws Exception {
+        assertThrows(JSONException.class, () -> JsonView.of("{\"status\": garbage}").optString("status"));
+        assertThrows(JSONException.class, () -> JsonView.of("{\"status\": nul}").isNull("status"));
+        assertThrows(JSONException.class, () -> JsonView.of("{\"flag\": truex}").optBoolean("flag"));
+        assertThrows(JSONException.class, () -> JsonView.of("[true, False]").length());
+
+        JsonView valid = JsonView.of("{\"a\": true, \"b\": false, \"c\": null}");
+        assertTrue(valid.getBoolean("a"));
+        assertFalse(valid.getBoolean("b"));
+        assertTrue(valid.isNull("c"));
+    }
+
+    @Test
+    public void testItRejectsMismatchedBrackets() throws Exception {
+        assertThrows(JSONException.class, () -> JsonView.of("{\"a\": [1}, \"status\": \"x\"}").getString("status"));
+        assertThrows(JSONException.class, () -> JsonView.of("[{\"a\": 1], 2]").length());
+        assertEquals("x", JsonView.of("{\"a\": [{\"b\": \"]}\"}], \"status\": \"x\"}").getString("status"));
+    }
+
+    @Test
+    public void testItRejectsInvalidNumbers() throws Exception {
+        assertThrows(JSONException.class, () -> JsonView.of("{\"amount\": 1-2}").getLong("amount"));
+        assertThrows(JSONException.class, () -> JsonView.of("{\"amount\": 00995}").getLong("amount"));
+        assertThrows(JSONException.class, () -> JsonView.of("{\"amount\": 1.}").getLong("amount"));
+        assertThrows(JSONException.class, () -> JsonView.of("{\"amount\": -}").getLong("amount"));
+        assertThrows(JSONException.class, () -> JsonView.of("[1e+]").length());
+
+        JsonView valid = JsonView.of("[0, -12, 1.25, 2E+3, 1e-2]");
+        assertEquals(5, valid.length());
+        assertEquals(-12, valid.getLong(1));
+        assertEquals(2000, valid.getLong(3));
+    }
+
+    @Test
+    public void testItAllocatesLessThanBuildingAJsonTree() throws Exception {
+        assumeTrue(Allocations.isSupported());
+
+        Allocations.Call view = i -> {
+            JsonView order = JsonView.of(ORDER);
+            assertFalse(order.getString("status").isEmpty());
+            assertFalse(order.getJSONArray("transactions").getJSONObject(0).getString("payment_url").isEmpty());
+        };
+        Allocations.Call tree = i -> {
+            JSONObject order = new JSONObject(ORDER);
+            assertFalse(order.getString("status").isEmpty());
+            assertFalse(order.getJSONArray("transactions").getJSONObject(0).getString("payment_url").isEmpty());
+        };
+
+        long viewBytes = Allocations.bytesPerCall(20_000, view);
+        long treeBytes = Allocations.bytesPerCall(20_000, tree);
+
+        assertTrue(
+            String.format("%d bytes per lazy view, %d per JSON tree", viewBytes, treeBytes),
+            viewBytes < treeBytes
+        );
+    }
+}
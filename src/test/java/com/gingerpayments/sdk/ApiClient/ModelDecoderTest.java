@@ -0,0 +1,158 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import com.gingerpayments.sdk.Allocations;
+import com.gingerpayments.sdk.Model.Issuer;
+import com.gingerpayments.sdk.Model.Order;
+import com.gingerpayments.sdk.Model.Transaction;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public final class ModelDecoderTest {
+    private static final String ORDER = "{"
+        + "\"id\": \"fcbfdd3a-ea2c-4240-96b2-613d49b79a55\","
+        + "\"merchant_order_id\": \"order \\\"12345\\\" \\u20ac\","
+        + "\"status\": \"completed\","
+        + "\"currency\": \"EUR\","
+        + "\"amount\": 2500,"
+        + "\"description\": null,"
+        + "\"customer\": {\"address\": {\"country\": \"NL\"}, \"tags\": [1, 2.5, true, null]},"
+        + "\"flags\": [\"is-test\"],"
+        + "\"transactions\": [{"
+        + "    \"id\": \"a1b2\","
+        + "    \"status\": \"completed\","
+        + "    \"payment_method\": \"ideal\","
+        + "    \"payment_method_details\": {\"issuer_id\": \"INGBNL2A\"},"
+        + "    \"amount\": 2500,"
+        + "    \"is_capturable\": true"
+        + "}],"
+        + "\"created\": \"2021-03-01T12:00:00.000000+00:00\""
+        + "}";
+
+    @Test
+    public void testItDecodesAnOrder() throws Exception {
+        Order order = (Order) ModelDecoder.readOrder(stream(ORDER));
+
+        assertEquals("fcbfdd3a-ea2c-4240-96b2-613d49b79a55", order.getId());
+        assertEquals("order \"12345\" \u20ac", order.getMerchantOrderId());
+        assertEquals(Long.valueOf(2500), order.getAmount());
+        assertNull(order.getDescription());
+        assertEquals(List.of("is-test"), order.getFlags());
+        assertEquals("2021-03-01T12:00:00.000000+00:00", order.getCreated());
+
+        Transaction transaction = order.getTransactions().get(0);
+        assertEquals("ideal", transaction.getPaymentMethod());
+        assertTrue(transaction.isCapturable());
+        assertThrows(UnsupportedOperationException.class, () -> order.getTransactions().clear());
+    }
+
+    @Test
+    public void testItDecodesValuesThatCrossReadBoundaries() throws Exception {
+        InputStream oneByteAtATime = new ByteArrayInputStream(ORDER.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] bytes, int offset, int length) {
+                return super.read(bytes, offset, Math.min(1, length));
+            }
+        };
+
+        Order order = (Order) ModelDecoder.readOrder(oneByteAtATime);
+
+        assertEquals("order \"12345\" \u20ac", order.getMerchantOrderId());
+        assertEquals(Long.valueOf(2500), order.getAmount());
+        assertEquals(Long.valueOf(2500), order.getTransactions().get(0).getAmount());
+    }
+
+    @Test
+    public void testItDecodesIssuers() throws Exception {
+        @SuppressWarnings("unchecked")
+        List<Issuer> issuers = (List<Issuer>) ModelDecoder.readIssuers(stream(
+            "[{\"id\":\"INGBNL2A\",\"list_type\":\"Nederland\",\"name\":\"ING\"},{\"id\":\"RABONL2U\",\"name\":\"Rabobank\"}]"
+        ));
+
+        assertEquals(2, issuers.size());
+        assertEquals("Nederland", issuers.get(0).getListType());
+        assertEquals("Rabobank", issuers.get(1).getName());
+    }
+
+    @Test
+    public void testItReturnsErrorResponses() throws Exception {
+        String error = "{\"error\": {\"status\": \"404\", \"type\": \"NotFound\", \"value\": \"Order not found\"}}";
+
+        Object order = ModelDecoder.readOrder(stream(error));
+        Object issuers = ModelDecoder.readIssuers(stream(error));
+
+        assertEquals("NotFound", ((JSONObject) order).getJSONObject("error").getString("type"));
+        assertEquals("404", ((JSONObject) issuers).getJSONObject("error").getString("status"));
+    }
+
+    @Test
+    public void testItKeepsMissingAndNullAmountsApartFromZero() throws Exception {
+        Order order = (Order) ModelDecoder.readOrder(stream(
+            "{\"status\": \"new\", \"transactions\": [{\"amount\": 5, \"is_capturable\": null}, {\"amount\": null}, {\"amount\": 0}]}"
+        ));
+
+        assertNull(order.getAmount());
+        assertEquals(Long.valueOf(5), order.getTransactions().get(0).getAmount());
+        assertNull(order.getTransactions().get(0).isCapturable());
+        assertNull(order.getTransactions().get(1).getAmount());
+        assertEquals(Long.valueOf(0), order.getTransactions().get(2).getAmount());
+    }
+
+    @Test
+    public void testItRejectsInvalidNumbers() {
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"status\": 1-2}")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"amount\": 00995}")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"amount\": -}")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"status\": 1.}")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"customer\": {\"tags\": [1e]}}")));
+    }
+
+    @Test
+    public void testItRejectsInvalidJson() {
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"id\": \"abc\"")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"amount\": 12.5}")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readOrder(stream("{\"id\": \"abc\"} trailing")));
+        assertThrows(JsonDecodeFailure.class, () -> ModelDecoder.readIssuers(stream("{\"id\": \"abc\"}")));
+    }
+
+    @Test
+    public void testItAllocatesLessThanBuildingAJsonTree() throws Exception {
+        assumeTrue(Allocations.isSupported());
+
+        byte[] body = ORDER.getBytes(StandardCharsets.UTF_8);
+        Allocations.Call typed = i -> {
+            Order order = (Order) ModelDecoder.readOrder(new ByteArrayInputStream(body));
+            assertFalse(order.getStatus().isEmpty());
+        };
+        Allocations.Call tree = i -> {
+            JSONObject order = (JSONObject) new JSONTokener(new ByteArrayInputStream(body)).nextValue();
+            assertFalse(order.getString("status").isEmpty());
+        };
+
+        long typedBytes = Allocations.bytesPerCall(20_000, typed);
+        long treeBytes = Allocations.bytesPerCall(20_000, tree);
+
+        assertTrue(
+            String.format("%d bytes per typed decode, %d per JSON tree", typedBytes, treeBytes),
+            typedBytes < treeBytes
+        );
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,29 @@
+package com.gingerpayments.sdk.ApiClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public final class RequestCoalescerTest {
+    @Test(timeout = 5000)
+    public void testItForgetsACallThatFailedWithAnError() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+
+        assertThrows(
+            StackOverflowError.class,
+            () -> coalescer.execute("/orders/a", () -> { throw new StackOverflowError(); }, Function.identity())
+        );
+        assertThrows(
+            StackOverflowError.class,
+            () -> coalescer.executeAsync("/orders/b", () -> { throw new StackOverflowError(); }, Function.identity())
+        );
+
+        assertEquals("order", coalescer.execute("/orders/a", () -> "order", Function.identity()));
+        assertEquals("order", coalescer.executeAsync("/orders/b", () -> CompletableFuture.completedFuture("order"), Function.identity()).get());
+        assertEquals(0, coalescer.getCoalescedCount());
+    }
+}
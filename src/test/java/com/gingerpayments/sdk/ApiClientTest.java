@@ -2,10 +2,23 @@ package com.gingerpayments.sdk;
 
 import com.gingerpayments.sdk.ApiClient.ApiClient;
 import com.gingerpayments.sdk.ApiClient.HttpRequestFailure;
+import com.gingerpayments.sdk.ApiClient.IssuerCache;
+import com.gingerpayments.sdk.ApiClient.JacksonJsonCodec;
 import com.gingerpayments.sdk.ApiClient.JsonDecodeFailure;
+import com.gingerpayments.sdk.ApiClient.JsonView;
+import com.gingerpayments.sdk.ApiClient.OrderCache;
+import com.gingerpayments.sdk.ApiClient.OrderResult;
 import com.gingerpayments.sdk.ApiClient.ServerError;
 import com.gingerpayments.sdk.HttpClient.HttpException;
 import com.gingerpayments.sdk.HttpClient.MockHttpClient;
+import com.gingerpayments.sdk.HttpClient.OkHttpClient;
+import com.gingerpayments.sdk.Model.Issuer;
+import com.gingerpayments.sdk.Model.Order;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -13,9 +26,20 @@ import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
@@ -256,4 +280,493 @@ public final class ApiClientTest {
             () -> apiClient.getIdealIssuers()
         );
     }
+
+    @Test
+    public void testItThrowsAnExceptionOnServerErrorWhenGettingAnOrder() {
+        httpClient.setResponseToReturn(new JSONObject()
+            .put("error", new JSONObject()
+                .put("status", "404")
+                .put("type", "NotFound")
+                .put("value", "Order not found")
+            )
+            .toString()
+        );
+
+        ServerError thrown = assertThrows(
+            ServerError.class,
+            () -> apiClient.getOrder("fcbfdd3a-ea2c-4240-96b2-613d49b79a55")
+        );
+    }
+
+    @Test
+    public void testItThrowsAnExceptionWhenAnArrayWasExpected() {
+        httpClient.setResponseToReturn(new JSONObject().put("id", "INGBNL2A").toString());
+
+        JsonDecodeFailure thrown = assertThrows(
+            JsonDecodeFailure.class,
+            () -> apiClient.getIdealIssuers()
+        );
+    }
+
+    @Test
+    public void testItThrowsAnExceptionWhenAnObjectWasExpected() {
+        httpClient.setResponseToReturn("\"a plain JSON string\"");
+
+        JsonDecodeFailure thrown = assertThrows(
+            JsonDecodeFailure.class,
+            () -> apiClient.getOrder("fcbfdd3a-ea2c-4240-96b2-613d49b79a55")
+        );
+    }
+
+    @Test
+    public void testItReturnsNonJsonResponsesFromCustomRequests() throws Exception {
+        httpClient.setResponseToReturn("plain text");
+
+        assertEquals("plain text", apiClient.send("GET", "/custom"));
+    }
+
+    @Test
+    public void testItThrowsAServerErrorForHttpErrorsWithAnErrorBody() {
+        HttpException httpException = new HttpException(
+            404,
+            "Not Found",
+            "orders/unknown",
+            new JSONObject()
+                .put("error", new JSONObject()
+                    .put("status", "404")
+                    .put("type", "NotFound")
+                    .put("value", "Order not found")
+                )
+                .toString()
+        );
+        httpClient.setExceptionToThrow(httpException);
+
+        ServerError thrown = assertThrows(
+            ServerError.class,
+            () -> apiClient.getOrder("unknown")
+        );
+        assertEquals("NotFound", thrown.getType());
+        assertEquals("404", thrown.getStatus());
+        assertEquals("Order not found", thrown.getValue());
+        assertSame(httpException, thrown.getCause());
+    }
+
+    @Test
+    public void testItUsesTheConfiguredJsonCodec() throws Exception {
+        ApiClient jacksonClient = new ApiClient(httpClient, null, null, new JacksonJsonCodec());
+        JSONObject orderData = new JSONObject().put("amount", 995).put("currency", "EUR");
+        httpClient.setResponseToReturn(new JSONObject().put("id", "order-1").put("amount", 995).toString());
+
+        JSONObject order = jacksonClient.createOrder(orderData);
+
+        assertTrue(new JSONObject((String) httpClient.lastRequestData()[3]).similar(orderData));
+        assertEquals("order-1", order.getString("id"));
+
+        httpClient.setExceptionToThrow(new HttpException(404, "Not Found", "orders/unknown", "{\"error\": {\"type\": \"NotFound\"}}"));
+        ServerError thrown = assertThrows(ServerError.class, () -> jacksonClient.getOrder("unknown"));
+        assertEquals("NotFound", thrown.getType());
+    }
+
+    @Test
+    public void testItThrowsAnHttpRequestFailureForHttpErrorsWithoutAnErrorBody() {
+        httpClient.setExceptionToThrow(new HttpException(502, "Bad Gateway", "orders", "<html>Bad Gateway</html>"));
+
+        HttpRequestFailure thrown = assertThrows(
+            HttpRequestFailure.class,
+            () -> apiClient.createOrder(new JSONObject())
+        );
+    }
+
+    @Test
+    public void testItGetsAnOrderAsynchronously() throws Exception {
+        JSONObject expectedOrder = new JSONObject()
+            .put("id", "fcbfdd3a-ea2c-4240-96b2-613d49b79a55")
+            .put("status", "completed");
+        httpClient.setResponseToReturn(expectedOrder.toString());
+
+        JSONObject order = apiClient.getOrderAsync("fcbfdd3a-ea2c-4240-96b2-613d49b79a55").get();
+
+        assertArrayEquals(
+                new Object[] {
+                    "GET",
+                    "/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55",
+                    Map.of(),
+                    null
+                },
+                httpClient.lastRequestData()
+        );
+        assertTrue(order.similar(expectedOrder));
+    }
+
+    @Test
+    public void testItCompletesExceptionallyOnAsynchronousHttpClientError() {
+        httpClient.setExceptionToThrow(new HttpException(1, "Whoops!", "/"));
+
+        ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            () -> apiClient.createOrderAsync(new JSONObject()).get()
+        );
+        assertTrue(thrown.getCause() instanceof HttpRequestFailure);
+    }
+
+    @Test
+    public void testItCompletesExceptionallyOnAsynchronousJsonDecodeError() {
+        httpClient.setResponseToReturn("definately not json");
+
+        ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            () -> apiClient.getIdealIssuersAsync().get()
+        );
+        assertTrue(thrown.getCause() instanceof JsonDecodeFailure);
+    }
+
+    @Test
+    public void testItCompletesExceptionallyOnAsynchronousServerError() {
+        httpClient.setResponseToReturn(new JSONObject()
+            .put("error", new JSONObject()
+                .put("status", "503")
+                .put("type", "ConnectionError")
+                .put("value", "The server made a boo-boo")
+            )
+            .toString()
+        );
+
+        ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            () -> apiClient.getOrderAsync("fcbfdd3a-ea2c-4240-96b2-613d49b79a55").get()
+        );
+        assertTrue(thrown.getCause() instanceof ServerError);
+    }
+
+    @Test
+    public void testItServesCachedOrders() throws Exception {
+        OrderCache orderCache = new OrderCache(10, Duration.ofMinutes(1));
+        ApiClient cachingClient = new ApiClient(httpClient, orderCache);
+        httpClient.setResponseToReturn(new JSONObject().put("id", "order-1").put("status", "new").toString());
+        cachingClient.getOrder("order-1");
+        httpClient.setResponseToReturn(new JSONObject().put("id", "order-1").put("status", "completed").toString());
+
+        assertEquals("new", cachingClient.getOrder("order-1").getString("status"));
+        assertEquals("new", cachingClient.getOrderAsync("order-1").get().getString("status"));
+        assertEquals("completed", cachingClient.getOrder("order-1", true).getString("status"));
+        assertEquals("completed", cachingClient.getOrder("order-1").getString("status"));
+        assertEquals(3, orderCache.getHitCount());
+        assertEquals(1, orderCache.getMissCount());
+    }
+
+    @Test
+    public void testItReturnsCopiesOfCachedOrders() throws Exception {
+        ApiClient cachingClient = new ApiClient(httpClient, new OrderCache(10, Duration.ofMinutes(1)));
+        httpClient.setResponseToReturn(new JSONObject().put("id", "order-1").put("status", "new").toString());
+
+        cachingClient.getOrder("order-1").put("status", "tampered");
+        cachingClient.getOrder("order-1").put("status", "tampered");
+
+        assertEquals("new", cachingClient.getOrder("order-1").getString("status"));
+    }
+
+    @Test
+    public void testItExpiresAndEvictsCachedOrders() throws Exception {
+        OrderCache expiringCache = new OrderCache(10, Duration.ofMillis(1));
+        ApiClient expiringClient = new ApiClient(httpClient, expiringCache);
+        httpClient.setResponseToReturn(new JSONObject().put("status", "new").toString());
+        expiringClient.getOrder("order-1");
+        Thread.sleep(5);
+        httpClient.setResponseToReturn(new JSONObject().put("status", "completed").toString());
+
+        assertEquals("completed", expiringClient.getOrder("order-1").getString("status"));
+
+        OrderCache smallCache = new OrderCache(2, Duration.ofMinutes(1));
+        ApiClient smallClient = new ApiClient(httpClient, smallCache);
+        smallClient.getOrder("order-1");
+        smallClient.getOrder("order-2");
+        smallClient.getOrder("order-1");
+        smallClient.getOrder("order-3");
+
+        assertEquals(2, smallCache.size());
+        smallClient.getOrder("order-1");
+        smallClient.getOrder("order-2");
+        assertEquals(2, smallCache.getHitCount());
+        assertEquals(4, smallCache.getMissCount());
+    }
+
+    @Test
+    public void testItRefreshesCachedOrdersOnWrites() throws Exception {
+        ApiClient cachingClient = new ApiClient(httpClient, new OrderCache(10, Duration.ofMinutes(1)));
+        httpClient.setResponseToReturn(new JSONObject().put("status", "new").toString());
+        cachingClient.getOrder("order-1");
+
+        httpClient.setResponseToReturn(new JSONObject().put("status", "updated").toString());
+        cachingClient.updateOrder("order-1", new JSONObject());
+        httpClient.setResponseToReturn(new JSONObject().put("status", "other").toString());
+        assertEquals("updated", cachingClient.getOrder("order-1").getString("status"));
+
+        httpClient.setResponseToReturn(new JSONObject().put("id", "refund-1").toString());
+        cachingClient.refundOrder("order-1", new JSONObject());
+        httpClient.setResponseToReturn(new JSONObject().put("status", "refunded").toString());
+        assertEquals("refunded", cachingClient.getOrder("order-1").getString("status"));
+
+        httpClient.setResponseToReturn("");
+        cachingClient.captureOrderTransactionAsync("order-1", "transaction-1").get();
+        httpClient.setResponseToReturn(new JSONObject().put("status", "captured").toString());
+        assertEquals("captured", cachingClient.getOrder("order-1").getString("status"));
+    }
+
+    @Test
+    public void testItGetsATypedOrder() throws Exception {
+        httpClient.setResponseToReturn(new JSONObject()
+            .put("id", "fcbfdd3a-ea2c-4240-96b2-613d49b79a55")
+            .put("amount", 995)
+            .put("transactions", new JSONArray()
+                .put(new JSONObject()
+                    .put("id", "ddc76c84-3fc2-4a16-85b9-a895f6bdc696")
+                    .put("payment_method", "ideal")
+                )
+            )
+            .toString()
+        );
+
+        Order order = apiClient.getOrderTyped("fcbfdd3a-ea2c-4240-96b2-613d49b79a55");
+        Order asyncOrder = apiClient.getOrderTypedAsync("fcbfdd3a-ea2c-4240-96b2-613d49b79a55").get();
+
+        assertArrayEquals(
+                new Object[] {
+                    "GET",
+                    "/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55",
+                    Map.of(),
+                    null
+                },
+                httpClient.lastRequestData()
+        );
+        assertEquals(Long.valueOf(995), order.getAmount());
+        assertEquals("ideal", order.getTransactions().get(0).getPaymentMethod());
+        assertEquals(order.getId(), asyncOrder.getId());
+    }
+
+    @Test
+    public void testItGetsTypedIdealIssuers() throws Exception {
+        httpClient.setResponseToReturn("[{\"id\":\"INGBNL2A\",\"list_type\":\"Deutschland\",\"name\":\"Issuer Simulation V3 - ING\"}]");
+
+        List<Issuer> issuers = apiClient.getIdealIssuersTyped();
+
+        assertEquals(1, issuers.size());
+        assertEquals("INGBNL2A", issuers.get(0).getId());
+        assertEquals("Issuer Simulation V3 - ING", issuers.get(0).getName());
+    }
+
+    @Test
+    public void testItThrowsAnExceptionOnServerErrorWhenGettingATypedOrder() {
+        httpClient.setResponseToReturn(new JSONObject()
+            .put("error", new JSONObject()
+                .put("status", "404")
+                .put("type", "NotFound")
+                .put("value", "Order not found")
+            )
+            .toString()
+        );
+
+        assertThrows(ServerError.class, () -> apiClient.getOrderTyped("unknown"));
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> apiClient.getOrderTypedAsync("unknown").get());
+        assertTrue(thrown.getCause() instanceof ServerError);
+    }
+
+    @Test
+    public void testItGetsAnOrderView() throws Exception {
+        httpClient.setResponseToReturn(new JSONObject()
+            .put("id", "fcbfdd3a-ea2c-4240-96b2-613d49b79a55")
+            .put("status", "completed")
+            .put("transactions", new JSONArray()
+                .put(new JSONObject().put("payment_url", "https://api.example.com/pay"))
+            )
+            .toString()
+        );
+
+        JsonView order = apiClient.getOrderView("fcbfdd3a-ea2c-4240-96b2-613d49b79a55");
+        JsonView asyncOrder = apiClient.getOrderViewAsync("fcbfdd3a-ea2c-4240-96b2-613d49b79a55").get();
+
+        assertEquals("/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55", httpClient.lastRequestData()[1]);
+        assertEquals("completed", order.getString("status"));
+        assertEquals("https://api.example.com/pay", order.getJSONArray("transactions").getJSONObject(0).getString("payment_url"));
+        assertEquals("completed", asyncOrder.getString("status"));
+    }
+
+    @Test
+    public void testItThrowsAnExceptionOnServerErrorWhenGettingAnOrderView() {
+        httpClient.setResponseToReturn("{\"error\": {\"status\": \"404\", \"type\": \"NotFound\", \"value\": \"Order not found\"}}");
+
+        ServerError thrown = assertThrows(ServerError.class, () -> apiClient.getOrderView("unknown"));
+        assertEquals("NotFound", thrown.getType());
+
+        httpClient.setResponseToReturn("[]");
+        assertThrows(JsonDecodeFailure.class, () -> apiClient.getOrderView("unknown"));
+    }
+
+    @Test
+    public void testItInvalidatesCachedOrdersOnTypedWrites() throws Exception {
+        ApiClient cachingClient = new ApiClient(httpClient, new OrderCache(10, Duration.ofMinutes(1)));
+        httpClient.setResponseToReturn(new JSONObject().put("status", "new").toString());
+        cachingClient.getOrder("order-1");
+
+        httpClient.setResponseToReturn(new JSONObject().put("status", "updated").toString());
+        assertEquals("updated", cachingClient.updateOrderTyped("order-1", new JSONObject()).getStatus());
+        assertEquals("updated", cachingClient.getOrder("order-1").getString("status"));
+    }
+
+    @Test
+    public void testItServesCachedIdealIssuers() throws Exception {
+        MockWebServer server = new MockWebServer();
+        ApiClient cachingClient = new ApiClient(new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"), null, new IssuerCache(Duration.ofMinutes(1)));
+        server.enqueue(new MockResponse().setBody("[{\"id\":\"INGBNL2A\"}]").setHeader("ETag", "\"v1\""));
+
+        assertEquals("INGBNL2A", cachingClient.getIdealIssuers().getJSONObject(0).getString("id"));
+        assertEquals("INGBNL2A", cachingClient.getIdealIssuers().getJSONObject(0).getString("id"));
+        assertEquals("INGBNL2A", cachingClient.getIdealIssuersAsync().get().getJSONObject(0).getString("id"));
+        assertEquals(1, server.getRequestCount());
+        server.shutdown();
+    }
+
+    @Test
+    public void testItCoalescesIdealIssuerRequestsOnAColdCache() throws Exception {
+        MockWebServer server = new MockWebServer();
+        ApiClient cachingClient = new ApiClient(new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"), null, new IssuerCache(Duration.ofMinutes(1)));
+        server.enqueue(new MockResponse()
+            .setBody("[{\"id\":\"INGBNL2A\"}]")
+            .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<JSONArray> first = cachingClient.getIdealIssuersAsync();
+        CompletableFuture<JSONArray> second = cachingClient.getIdealIssuersAsync();
+        JSONArray third = cachingClient.getIdealIssuers();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(2, cachingClient.getCoalescedRequestCount());
+        assertEquals("INGBNL2A", first.get().getJSONObject(0).getString("id"));
+        assertEquals("INGBNL2A", second.get().getJSONObject(0).getString("id"));
+        assertEquals("INGBNL2A", third.getJSONObject(0).getString("id"));
+        server.shutdown();
+    }
+
+    @Test
+    public void testItRevalidatesStaleIdealIssuersInTheBackground() throws Exception {
+        MockWebServer server = new MockWebServer();
+        IssuerCache issuerCache = new IssuerCache(Duration.ZERO);
+        ApiClient cachingClient = new ApiClient(new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"), null, issuerCache);
+        server.enqueue(new MockResponse().setBody("[{\"id\":\"INGBNL2A\"}]").setHeader("ETag", "\"v1\""));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setBody("[{\"id\":\"RABONL2U\"}]").setHeader("ETag", "\"v2\""));
+        cachingClient.getIdealIssuers();
+
+        assertEquals("INGBNL2A", cachingClient.getIdealIssuers().getJSONObject(0).getString("id"));
+        awaitRefreshes(issuerCache, 1);
+        server.takeRequest();
+        assertEquals("\"v1\"", server.takeRequest().getHeader("If-None-Match"));
+        assertEquals(1, issuerCache.getNotModifiedCount());
+
+        // the failed refresh keeps the cached list, a later lookup tries again
+        for (int i = 0; i < 500 && issuerCache.getRefreshCount() < 2; i++) {
+            String id = cachingClient.getIdealIssuers().getJSONObject(0).getString("id");
+            assertTrue(id.equals("INGBNL2A") || id.equals("RABONL2U"));
+            Thread.sleep(10);
+        }
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals("RABONL2U", cachingClient.getIdealIssuers().getJSONObject(0).getString("id"));
+        server.shutdown();
+    }
+
+    private static void awaitRefreshes(IssuerCache issuerCache, long refreshes) throws InterruptedException {
+        for (int i = 0; i < 500 && issuerCache.getRefreshCount() < refreshes; i++) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(refreshes, issuerCache.getRefreshCount());
+    }
+
+    @Test
+    public void testItCoalescesConcurrentIdenticalRequests() throws Exception {
+        MockWebServer server = new MockWebServer();
+        ApiClient coalescingClient = new ApiClient(new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"));
+        server.enqueue(new MockResponse()
+            .setBody(new JSONObject().put("id", "order-1").put("description", JSONObject.NULL).toString())
+            .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<JSONObject> first = coalescingClient.getOrderAsync("order-1");
+        CompletableFuture<JSONObject> second = coalescingClient.getOrderAsync("order-1");
+        JSONObject third = coalescingClient.getOrder("order-1");
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(2, coalescingClient.getCoalescedRequestCount());
+        assertNotSame(first.get(), second.get());
+        assertNotSame(first.get(), third);
+        assertTrue(third.isNull("description"));
+        server.shutdown();
+    }
+
+    @Test
+    public void testItDoesNotCoalesceRequestsStartedBeforeAWrite() throws Exception {
+        MockWebServer server = new MockWebServer();
+        ApiClient coalescingClient = new ApiClient(new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"));
+        server.setDispatcher(new Dispatcher() {
+            private boolean updated;
+
+            @Override
+            public synchronized MockResponse dispatch(RecordedRequest request) {
+                if (request.getMethod().equals("PUT")) {
+                    updated = true;
+                } else if (!updated) {
+                    return new MockResponse().setBody("{\"status\":\"new\"}").setHeadersDelay(200, TimeUnit.MILLISECONDS);
+                }
+
+                return new MockResponse().setBody("{\"status\":\"updated\"}");
+            }
+        });
+
+        CompletableFuture<JSONObject> before = coalescingClient.getOrderAsync("order-1");
+        server.takeRequest();
+        coalescingClient.updateOrderAsync("order-1", new JSONObject()).get();
+
+        assertEquals("updated", coalescingClient.getOrder("order-1").getString("status"));
+        assertEquals("new", before.get().getString("status"));
+        assertEquals(0, coalescingClient.getCoalescedRequestCount());
+        server.shutdown();
+    }
+
+    @Test
+    public void testItGetsOrdersInBulkWithBoundedParallelism() throws Exception {
+        MockWebServer server = new MockWebServer();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                inFlight.decrementAndGet();
+                String id = request.getPath().substring("/v1/orders/".length());
+
+                if (id.equals("missing")) {
+                    return new MockResponse().setResponseCode(404);
+                }
+
+                return new MockResponse().setBody(new JSONObject().put("id", id).toString());
+            }
+        });
+        ApiClient bulkClient = new ApiClient(new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"));
+        List<String> ids = new ArrayList<>();
+
+        for (int i = 0; i < 12; i++) {
+            ids.add("order-" + i);
+        }
+
+        ids.add("missing");
+
+        Map<String, OrderResult> results = bulkClient.getOrders(ids, 3);
+
+        assertEquals(13, results.size());
+        assertEquals("order-7", results.get("order-7").getOrder().getString("id"));
+        assertFalse(results.get("missing").isSuccessful());
+        assertTrue(results.get("missing").getFailure() instanceof HttpRequestFailure);
+        assertTrue(maxInFlight.get() <= 3);
+        server.shutdown();
+    }
 }
@@ -2,13 +2,23 @@ package com.gingerpayments.sdk;
 
 import com.gingerpayments.sdk.ApiClient.ApiClient;
 
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
 import org.junit.Test;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 public final class GingerTest {
     @Test
@@ -25,4 +35,80 @@ public final class GingerTest {
     public void testItCreatesAClientWithAStringUrl() throws MalformedURLException {
         assertTrue(Ginger.createClient("https://www.example.com/", "abc123") instanceof ApiClient);
     }
+
+    @Test
+    public void testItBuildsAClientWithACustomHttpConfiguration() throws MalformedURLException {
+        ApiClient client = Ginger.builder()
+            .endpoint("https://www.example.com/")
+            .apiKey("abc123")
+            .connectionPool(20, Duration.ofMinutes(1))
+            .maxRequestsPerHost(32)
+            .connectTimeout(Duration.ofSeconds(2))
+            .readTimeout(Duration.ofSeconds(10))
+            .writeTimeout(Duration.ofSeconds(10))
+            .http2(false)
+            .build();
+
+        assertTrue(client instanceof ApiClient);
+    }
+
+    @Test
+    public void testItBuildsAClientOnASharedOkHttpClient() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("[]"));
+        okhttp3.OkHttpClient sharedClient = new okhttp3.OkHttpClient.Builder()
+            .addInterceptor(chain -> chain.proceed(
+                chain.request().newBuilder().header("X-Shared-Client", "yes").build()
+            ))
+            .build();
+
+        Ginger.builder()
+            .endpoint(server.url("/").url())
+            .apiKey("abc123")
+            .httpClient(sharedClient)
+            .maxRequestsPerHost(32)
+            .build()
+            .getIdealIssuers();
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/v1/ideal/issuers", request.getPath());
+        assertEquals("yes", request.getHeader("X-Shared-Client"));
+        assertEquals(5, sharedClient.dispatcher().getMaxRequestsPerHost());
+        server.shutdown();
+    }
+
+    @Test
+    public void testItRequiresAnApiKey() {
+        IllegalStateException thrown = assertThrows(
+            IllegalStateException.class,
+            () -> Ginger.builder().endpoint("https://www.example.com/").build()
+        );
+    }
+
+    @Test
+    public void testItRunsAsynchronousRequestsOnTheConfiguredExecutor() throws Exception {
+        MockWebServer server = new MockWebServer();
+        server.enqueue(new MockResponse().setBody("{\"id\":\"order-1\"}"));
+        ThreadGroup threads = new ThreadGroup("custom-executor");
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(threads, runnable));
+        ApiClient client = Ginger.builder()
+            .endpoint(server.url("/").toString())
+            .apiKey("abc123")
+            .executor(executor)
+            .build();
+
+        ThreadGroup thread = client.getOrderAsync("order-1").thenApply(order -> Thread.currentThread().getThreadGroup()).get();
+
+        assertEquals(threads, thread);
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation") // Runtime.Version.feature() needs Java 10
+    public void testItRejectsVirtualThreadsBeforeJava21() {
+        assumeTrue(Runtime.version().major() < 21);
+
+        assertThrows(UnsupportedOperationException.class, () -> Ginger.builder().virtualThreads());
+    }
 }
@@ -0,0 +1,167 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public final class GuardedHttpClientTest {
+    private MockHttpClient httpClient;
+
+    @Before
+    public void setUp() {
+        httpClient = new MockHttpClient();
+        httpClient.setResponseToReturn("{}");
+    }
+
+    @Test
+    public void testItRejectsRequestsWhileTheCircuitIsOpen() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+            .window(4, 4)
+            .failureRateThreshold(0.5)
+            .openDuration(Duration.ofMinutes(1))
+            .build();
+        GuardedHttpClient client = new GuardedHttpClient(httpClient, circuitBreaker, null);
+
+        client.request("GET", "/orders/a");
+        client.request("GET", "/orders/b");
+        httpClient.setExceptionToThrow(new HttpException(503, "Service Unavailable", "orders/c"));
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/c"));
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/d"));
+        httpClient.setExceptionToThrow(null);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertThrows(RequestRejectedException.class, () -> client.request("GET", "/orders/e"));
+        assertEquals("/orders/d", httpClient.lastRequestData()[1]);
+    }
+
+    @Test
+    public void testItDoesNotCountClientErrorsAsFailures() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder().window(2, 2).build();
+        GuardedHttpClient client = new GuardedHttpClient(httpClient, circuitBreaker, null);
+        httpClient.setExceptionToThrow(new HttpException(404, "Not Found", "orders/a"));
+
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/a"));
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/a"));
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testItClosesTheCircuitAfterASuccessfulTrialCall() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+            .window(1, 1)
+            .openDuration(Duration.ofMillis(1))
+            .build();
+        GuardedHttpClient client = new GuardedHttpClient(httpClient, circuitBreaker, null);
+        httpClient.setExceptionToThrow(new HttpException(-1, "Connection reset", "orders/a"));
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/a"));
+        httpClient.setExceptionToThrow(null);
+
+        Thread.sleep(5);
+        client.request("GET", "/orders/a");
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testItCountsSlowCallsAsFailures() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+            .window(1, 1)
+            .slowCallThreshold(Duration.ZERO)
+            .build();
+        GuardedHttpClient client = new GuardedHttpClient(httpClient, circuitBreaker, null);
+
+        client.request("GET", "/orders/a");
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testItRejectsRequestsBeyondTheConcurrencyLimit() throws Exception {
+        PendingHttpClient pendingClient = new PendingHttpClient();
+        ConcurrencyLimit concurrencyLimit = ConcurrencyLimit.builder().limits(1, 1, 10).build();
+        GuardedHttpClient client = new GuardedHttpClient(pendingClient, null, concurrencyLimit);
+
+        CompletableFuture<String> first = client.requestAsync("GET", "/orders/a");
+        ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            () -> client.requestAsync("GET", "/orders/b").get()
+        );
+        assertTrue(thrown.getCause() instanceof RequestRejectedException);
+
+        // other endpoints have their own limit
+        client.requestAsync("GET", "/ideal/issuers");
+
+        pendingClient.pending.complete("{}");
+        assertEquals("{}", first.get());
+        assertEquals("{}", client.requestAsync("GET", "/orders/c").get());
+    }
+
+    @Test
+    public void testItAdaptsTheConcurrencyLimit() throws Exception {
+        ConcurrencyLimit concurrencyLimit = ConcurrencyLimit.builder()
+            .limits(10, 1, 20)
+            .backoffRatio(0.5)
+            .build();
+        GuardedHttpClient client = new GuardedHttpClient(httpClient, null, concurrencyLimit);
+
+        httpClient.setExceptionToThrow(new HttpException(503, "Service Unavailable", "orders/a"));
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/a"));
+        assertEquals(5, concurrencyLimit.getLimit("GET", "/orders/b"));
+
+        httpClient.setExceptionToThrow(null);
+        for (int i = 0; i < 6; i++) {
+            client.request("GET", "/orders/a");
+        }
+        assertEquals(6, concurrencyLimit.getLimit("GET", "/orders/b"));
+    }
+
+    @Test
+    public void testItDoesNotCountCancelledRequests() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+            .window(1, 1)
+            .slowCallThreshold(Duration.ZERO)
+            .build();
+        ConcurrencyLimit concurrencyLimit = ConcurrencyLimit.builder().limits(1, 1, 10).build();
+        GuardedHttpClient client = new GuardedHttpClient(new PendingHttpClient(), circuitBreaker, concurrencyLimit);
+
+        client.requestAsync("GET", "/orders/a").cancel(true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, concurrencyLimit.getLimit("GET", "/orders/a"));
+        // the permit was given back
+        assertFalse(client.requestAsync("GET", "/orders/b").isDone());
+    }
+
+    /**
+     * HTTP client whose asynchronous requests complete when the test says so.
+     */
+    private static final class PendingHttpClient implements HttpClient, AsyncHttpClient {
+        private final CompletableFuture<String> pending = new CompletableFuture<>();
+
+        public String request(String method, String path) throws HttpException {
+            return request(method, path, null, null);
+        }
+
+        public String request(String method, String path, Map<String, String> headers) throws HttpException {
+            return request(method, path, headers, null);
+        }
+
+        public String request(String method, String path, Map<String, String> headers, String data) {
+            return pending.join();
+        }
+
+        public CompletableFuture<String> requestAsync(String method, String path, Map<String, String> headers, String data) {
+            return pending.thenApply(response -> response);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public final class HedgingHttpClientTest {
+    private MockWebServer server;
+    private OkHttpClient transport;
+
+    @Before
+    public void setUp() {
+        server = new MockWebServer();
+        transport = new OkHttpClient(server.url("/v1"), "1a1b2e63c55e");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void testItUsesTheHedgeWhenTheOriginalRequestIsSlow() throws Exception {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ofMillis(50)).maxHedgeRatio(1).build();
+        HedgingHttpClient client = new HedgingHttpClient(transport, policy);
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(5, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        long startedAt = System.nanoTime();
+        String response = client.request("GET", "/orders/a");
+
+        assertEquals("fast", response);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, policy.getHedgeCount());
+        assertEquals(1, policy.getHedgeWinCount());
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(4));
+    }
+
+    @Test
+    public void testItSendsTheOriginalBlockingRequestOutsideTheDispatcher() throws Exception {
+        okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+        dispatcher.setMaxRequestsPerHost(1);
+        OkHttpClient limited = new OkHttpClient(
+            new okhttp3.OkHttpClient.Builder().dispatcher(dispatcher).build(),
+            server.url("/v1"),
+            "1a1b2e63c55e",
+            Map.of()
+        );
+        HedgingHttpClient client = new HedgingHttpClient(limited, HedgingPolicy.builder().delay(Duration.ofSeconds(5)).build());
+        server.enqueue(new MockResponse().setBody("busy").setHeadersDelay(5, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        CompletableFuture<String> busy = limited.requestAsync("GET", "/orders/a", null, null);
+        server.takeRequest();
+
+        long startedAt = System.nanoTime();
+        assertEquals("fast", client.request("GET", "/orders/b"));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(4));
+        busy.cancel(true);
+    }
+
+    @Test
+    public void testItDoesNotCountTheCancelledOriginalRequestAsAFailure() throws Exception {
+        CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+            .window(1, 1)
+            .failureRateThreshold(0.5)
+            .openDuration(Duration.ofMinutes(1))
+            .build();
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ofMillis(50)).maxHedgeRatio(1).build();
+        HedgingHttpClient client = new HedgingHttpClient(new GuardedHttpClient(transport, circuitBreaker, null), policy);
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(5, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        assertEquals("fast", client.request("GET", "/orders/a"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void testItDoesNotHedgeFastRequests() throws Exception {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ofSeconds(5)).maxHedgeRatio(1).build();
+        HedgingHttpClient client = new HedgingHttpClient(transport, policy);
+        server.enqueue(new MockResponse().setBody("fast"));
+
+        assertEquals("fast", client.request("GET", "/orders/a"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, policy.getRequestCount());
+        assertEquals(0, policy.getHedgeCount());
+    }
+
+    @Test
+    public void testItDoesNotHedgeUnsafeMethods() throws Exception {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ZERO).maxHedgeRatio(1).build();
+        HedgingHttpClient client = new HedgingHttpClient(transport, policy);
+        server.enqueue(new MockResponse().setBody("created").setHeadersDelay(100, TimeUnit.MILLISECONDS));
+
+        assertEquals("created", client.request("POST", "/orders", null, "{}"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, policy.getRequestCount());
+    }
+
+    @Test
+    public void testItRespectsTheHedgeBudget() throws Exception {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ZERO).maxHedgeRatio(0.5).build();
+        HedgingHttpClient client = new HedgingHttpClient(transport, policy);
+        server.enqueue(new MockResponse().setBody("slow").setHeadersDelay(100, TimeUnit.MILLISECONDS));
+
+        assertEquals("slow", client.request("GET", "/orders/a"));
+        assertEquals(1, server.getRequestCount());
+        assertEquals(0, policy.getHedgeCount());
+    }
+
+    @Test
+    public void testItFailsWhenAllRequestsFail() {
+        HedgingPolicy policy = HedgingPolicy.builder().delay(Duration.ofMillis(20)).maxHedgeRatio(1).build();
+        HedgingHttpClient client = new HedgingHttpClient(transport, policy);
+        server.enqueue(new MockResponse().setResponseCode(500).setHeadersDelay(100, TimeUnit.MILLISECONDS));
+        server.enqueue(new MockResponse().setResponseCode(500).setHeadersDelay(100, TimeUnit.MILLISECONDS));
+
+        HttpException exception = assertThrows(HttpException.class, () -> client.request("GET", "/orders/a"));
+        assertEquals(500, exception.getErrorNumber());
+        assertEquals(1, policy.getHedgeCount());
+    }
+
+    @Test
+    public void testItDerivesTheDelayFromObservedLatencies() {
+        HedgingPolicy policy = HedgingPolicy.builder()
+            .percentile(0.9, Duration.ofSeconds(1), Duration.ofMillis(2))
+            .build();
+
+        for (int i = 1; i <= 100; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(90), policy.delayNanos());
+    }
+}
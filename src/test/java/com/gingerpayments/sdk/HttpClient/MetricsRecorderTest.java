@@ -0,0 +1,180 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public final class MetricsRecorderTest {
+    private MetricsRecorder metrics;
+    private HttpClient client;
+    private MockWebServer server;
+
+    @Before
+    public void setUp() {
+        metrics = new MetricsRecorder();
+        server = new MockWebServer();
+        client = new OkHttpClient(
+            new okhttp3.OkHttpClient(),
+            server.url("/v1"),
+            "1a1b2e63c55e",
+            Map.of(),
+            null,
+            metrics
+        );
+    }
+
+    @Test
+    public void testItNamesEndpointsWithoutIds() {
+        assertEquals("GET /orders/{id}", OkHttpClient.endpointName("GET", "/orders/a9c7d4e6-0b7e-4ab2-8e0f-4a2c4b7d1f3e"));
+        assertEquals("POST /orders/{id}/transactions/{id}/captures", OkHttpClient.endpointName("POST", "orders/1/transactions/2/captures"));
+        assertEquals("GET /ideal/issuers", OkHttpClient.endpointName("GET", "/ideal/issuers?limit=10"));
+        assertEquals("GET /", OkHttpClient.endpointName("GET", "/"));
+    }
+
+    @Test
+    public void testItRecordsSuccessfulRequests() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":\"1\"}"));
+
+        client.request("PUT", "/orders/123", null, "{\"amount\":1}");
+
+        EndpointMetrics endpoint = metrics.getEndpoint("PUT /orders/{id}");
+        assertEquals(1, endpoint.getLatency().getCount());
+        assertTrue(endpoint.getLatency().getMaxNanos() > 0);
+        assertEquals(0, endpoint.getInFlight());
+        assertEquals(12, endpoint.getRequestBytes());
+        assertEquals(10, endpoint.getResponseBytes());
+        assertTrue(endpoint.getErrorCounts().isEmpty());
+        assertEquals(1, metrics.getConnectionCount());
+        assertEquals(1, metrics.getIdleConnectionCount());
+    }
+
+    @Test
+    public void testItCountsASharedConnectionPoolOnce() throws Exception {
+        okhttp3.OkHttpClient transport = new okhttp3.OkHttpClient();
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        for (int i = 0; i < 2; i++) {
+            HttpClient tenant = new OkHttpClient(transport.newBuilder().build(), server.url("/v1"), "key-" + i, Map.of(), null, metrics);
+            tenant.request("GET", "/orders/123");
+        }
+
+        assertEquals(1, metrics.getConnectionCount());
+    }
+
+    @Test
+    public void testItCountsErrorsByStatus() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("not found"));
+
+        ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> ((AsyncHttpClient) client).requestAsync("GET", "/orders/456", null, null).get(5, TimeUnit.SECONDS)
+        );
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/123"));
+
+        assertTrue(exception.getCause() instanceof HttpException);
+        EndpointMetrics endpoint = metrics.getEndpoint("GET /orders/{id}");
+        assertEquals(Map.of(-1, 1L, 404, 1L), endpoint.getErrorCounts());
+        assertEquals(2, endpoint.getLatency().getCount());
+        assertEquals(0, endpoint.getInFlight());
+        assertNull(metrics.getEndpoint("GET /ideal/issuers"));
+    }
+
+    @Test
+    public void testItReportsPhaseTimingsAndConnectionReuse() throws Exception {
+        List<CallTimings> timings = new CopyOnWriteArrayList<>();
+        List<String> configuredEvents = new CopyOnWriteArrayList<>();
+        okhttp3.OkHttpClient transport = new okhttp3.OkHttpClient.Builder()
+            .eventListener(new EventListener() {
+                @Override
+                public void callEnd(Call call) {
+                    configuredEvents.add("callEnd");
+                }
+            })
+            .build();
+        Instrumentation instrumentation = new Instrumentation() {
+            @Override
+            public void onRequestStart(String endpoint) {
+                metrics.onRequestStart(endpoint);
+            }
+
+            @Override
+            public void onRequestEnd(String endpoint, int status, long durationNanos, long requestBytes, long responseBytes) {
+                metrics.onRequestEnd(endpoint, status, durationNanos, requestBytes, responseBytes);
+            }
+
+            @Override
+            public void onCallTimings(String endpoint, CallTimings callTimings) {
+                timings.add(callTimings);
+                metrics.onCallTimings(endpoint, callTimings);
+            }
+        };
+        HttpClient timedClient = new OkHttpClient(transport, server.url("/v1"), "1a1b2e63c55e", Map.of(), null, instrumentation);
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        timedClient.request("GET", "/orders/1");
+        ((AsyncHttpClient) timedClient).requestAsync("GET", "/orders/2", null, null).get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, timings.size());
+        assertFalse(timings.get(0).isConnectionReused());
+        assertTrue(timings.get(0).getConnectNanos() >= 0);
+        assertEquals(-1, timings.get(0).getTlsNanos());
+        assertTrue(timings.get(1).isConnectionReused());
+        assertEquals(-1, timings.get(1).getConnectNanos());
+
+        for (CallTimings callTimings : timings) {
+            assertTrue(callTimings.getAcquireConnectionNanos() >= 0);
+            assertTrue(callTimings.getTimeToFirstByteNanos() >= 0);
+            assertTrue(callTimings.getResponseBodyNanos() >= 0);
+            assertTrue(callTimings.getTotalNanos() >= callTimings.getTimeToFirstByteNanos());
+        }
+
+        EndpointMetrics endpoint = metrics.getEndpoint("GET /orders/{id}");
+        assertEquals(1, endpoint.getNewConnectionCount());
+        assertEquals(1, endpoint.getReusedConnectionCount());
+        assertEquals(2, endpoint.getTimeToFirstByte().getCount());
+        assertEquals(List.of("callEnd", "callEnd"), configuredEvents);
+    }
+
+    @Test
+    public void testItReportsPercentilesWithinTheBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), histogram.getMaxNanos());
+        assertWithin(0.04, TimeUnit.MILLISECONDS.toNanos(500), histogram.getValueAtPercentile(0.5));
+        assertWithin(0.04, TimeUnit.MILLISECONDS.toNanos(990), histogram.getValueAtPercentile(0.99));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), histogram.getValueAtPercentile(1));
+        assertEquals(0, new LatencyHistogram().getValueAtPercentile(0.99));
+    }
+
+    private static void assertWithin(double relativeError, long expected, long actual) {
+        assertTrue(
+            "Expected " + actual + " to be within " + relativeError + " of " + expected,
+            Math.abs(actual - expected) <= expected * relativeError
+        );
+    }
+}
@@ -1,11 +1,27 @@
 package com.gingerpayments.sdk.HttpClient;
 
+import com.gingerpayments.sdk.Allocations;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Credentials;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
 import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.GzipSource;
+import okio.Okio;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -13,6 +29,8 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 public final class OkHttpClientTest {
     private HttpClient client;
@@ -111,4 +129,267 @@ public final class OkHttpClientTest {
             () -> client.request("GET", "/error")
         );
     }
+
+    @Test
+    public void testItIncludesTheStatusCodeAndBodyOnHttpError() {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\": {}}"));
+
+        HttpException thrown = assertThrows(
+            HttpException.class,
+            () -> client.request("GET", "/orders/unknown")
+        );
+        assertEquals(404, thrown.getErrorNumber());
+        assertEquals("{\"error\": {}}", thrown.getResponseBody());
+    }
+
+    @Test
+    public void testItReleasesConnectionsOnHttpErrors() throws Exception {
+        ConnectionPool pool = new ConnectionPool();
+        AsyncHttpClient pooledClient = new OkHttpClient(
+            new okhttp3.OkHttpClient.Builder().connectionPool(pool).build(),
+            server.url("/v1"),
+            "1a1b2e63c55e",
+            Map.of()
+        );
+
+        for (int i = 0; i < 6; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503).setBody("{\"error\": {\"status\": \"503\"}}"));
+        }
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpException.class, () -> ((HttpClient) pooledClient).request("GET", "/error"));
+            assertThrows(
+                HttpException.class,
+                () -> ((HttpClient) pooledClient).request("GET", "/error", Map.of(), null, InputStream::read)
+            );
+            ExecutionException thrown = assertThrows(
+                ExecutionException.class,
+                () -> pooledClient.requestAsync("GET", "/error").get()
+            );
+            assertTrue(thrown.getCause() instanceof HttpException);
+        }
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, server.takeRequest().getSequenceNumber());
+        }
+        assertEquals(1, pool.connectionCount());
+        assertEquals(1, pool.idleConnectionCount());
+    }
+
+    @Test
+    public void testItSendsAnAsynchronousRequest() throws Exception {
+        server.enqueue(new MockResponse().setBody("not an empty body"));
+
+        String response = ((AsyncHttpClient) client).requestAsync(
+            "POST",
+            "/foo/bar",
+            Map.of("Content-Type", "text/plain"),
+            "request data"
+        ).get();
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("not an empty body", response);
+        assertEquals("/v1/foo/bar", request.getPath());
+        assertEquals("POST", request.getMethod());
+        assertEquals("request data", request.getBody().readUtf8());
+        assertEquals("Basic MWExYjJlNjNjNTVlOg==", request.getHeader("Authorization"));
+    }
+
+    @Test
+    public void testItCompletesExceptionallyOnAsynchronousHttpError() {
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            () -> ((AsyncHttpClient) client).requestAsync("GET", "/error").get()
+        );
+        assertTrue(thrown.getCause() instanceof HttpException);
+    }
+
+    @Test
+    public void testItCompletesExceptionallyOnAsynchronousIoError() {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        ExecutionException thrown = assertThrows(
+            ExecutionException.class,
+            () -> ((AsyncHttpClient) client).requestAsync("GET", "/error").get()
+        );
+        assertTrue(thrown.getCause() instanceof HttpException);
+    }
+
+    @Test
+    public void testItStreamsTheResponseBodyToAReader() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\": \"abc\"}"));
+
+        String response = client.request(
+            "GET",
+            "/foo/bar",
+            Map.of(),
+            null,
+            body -> new String(body.readAllBytes(), StandardCharsets.UTF_8)
+        );
+
+        assertEquals("{\"id\": \"abc\"}", response);
+    }
+
+    @Test
+    public void testItDoesNotInvokeTheReaderOnEmptyResponseBody() throws Exception {
+        server.enqueue(new MockResponse().setBody(""));
+
+        Object response = client.request(
+            "GET",
+            "/empty/response",
+            Map.of(),
+            null,
+            body -> {
+                throw new AssertionError("The reader should not be invoked");
+            }
+        );
+
+        assertNull(response);
+    }
+
+    @Test
+    public void testItReusesTheConnectionWhenTheReaderStopsEarly() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}\n\n"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        client.request("GET", "/first", Map.of(), null, InputStream::read);
+        client.request("GET", "/second", Map.of(), null, InputStream::read);
+
+        assertEquals(0, server.takeRequest().getSequenceNumber());
+        assertEquals(1, server.takeRequest().getSequenceNumber());
+    }
+
+    @Test
+    public void testItStreamsTheResponseBodyToAReaderAsynchronously() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\": \"abc\"}"));
+
+        String response = ((AsyncHttpClient) client).requestAsync(
+            "GET",
+            "/foo/bar",
+            Map.of(),
+            null,
+            body -> new String(body.readAllBytes(), StandardCharsets.UTF_8)
+        ).get();
+
+        assertEquals("{\"id\": \"abc\"}", response);
+    }
+
+    @Test
+    public void testItStreamsTheRequestBodyFromAWriter() throws Exception {
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        client.request(
+            "POST",
+            "/foo/bar",
+            Map.of("Content-Type", "application/json"),
+            out -> out.write("{\"amount\":995}".getBytes(StandardCharsets.UTF_8)),
+            InputStream::read
+        );
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("POST", request.getMethod());
+        assertEquals("{\"amount\":995}", request.getBody().readUtf8());
+        assertEquals("application/json", request.getHeader("Content-Type"));
+    }
+
+    @Test
+    public void testItCompressesLargeRequestBodies() throws Exception {
+        CompressionPolicy compression = CompressionPolicy.builder().minRequestSize(100).build();
+        client = new OkHttpClient(new okhttp3.OkHttpClient(), server.url("/v1"), "1a1b2e63c55e", Map.of(), compression);
+        String largeBody = "{\"order_lines\": [" + String.join(",", Collections.nCopies(50, "{\"name\": \"Order line\", \"quantity\": 1}")) + "]}";
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse());
+
+        client.request("POST", "/orders", Map.of("Content-Type", "application/json"), largeBody);
+        client.request("POST", "/orders", Map.of("Content-Type", "application/json"), out -> out.write("{}".getBytes(StandardCharsets.UTF_8)), InputStream::read);
+
+        RecordedRequest compressed = server.takeRequest();
+        assertEquals("gzip", compressed.getHeader("Content-Encoding"));
+        assertEquals("application/json", compressed.getHeader("Content-Type"));
+        assertEquals(largeBody, Okio.buffer(new GzipSource(compressed.getBody())).readUtf8());
+
+        RecordedRequest small = server.takeRequest();
+        assertNull(small.getHeader("Content-Encoding"));
+        assertEquals("{}", small.getBody().readUtf8());
+
+        assertEquals(1, compression.getCompressedRequestCount());
+        assertEquals(largeBody.length() - compressed.getBodySize(), compression.getRequestBytesSaved());
+    }
+
+    @Test
+    public void testItDecompressesResponses() throws Exception {
+        CompressionPolicy compression = CompressionPolicy.builder().compressRequests(false).build();
+        AsyncHttpClient compressingClient = new OkHttpClient(new okhttp3.OkHttpClient(), server.url("/v1"), "1a1b2e63c55e", Map.of(), compression);
+        String largeBody = "{\"transactions\": [" + String.join(",", Collections.nCopies(100, "{\"status\": \"completed\"}")) + "]}";
+        Buffer gzipped = gzip(largeBody);
+        long gzippedSize = gzipped.size();
+        server.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(gzipped));
+        server.enqueue(new MockResponse().setHeader("Content-Encoding", "gzip").setBody(gzip(largeBody)));
+        String errorBody = "{\"error\": {}}";
+        Buffer gzippedError = gzip(errorBody);
+        long gzippedErrorSize = gzippedError.size();
+        server.enqueue(new MockResponse().setResponseCode(404).setHeader("Content-Encoding", "gzip").setBody(gzippedError));
+
+        String response = ((HttpClient) compressingClient).request("GET", "/orders");
+        String streamed = compressingClient.requestAsync(
+            "GET",
+            "/orders",
+            Map.of(),
+            null,
+            body -> new String(body.readAllBytes(), StandardCharsets.UTF_8)
+        ).get();
+        HttpException thrown = assertThrows(HttpException.class, () -> ((HttpClient) compressingClient).request("GET", "/orders/unknown"));
+
+        assertEquals("gzip", server.takeRequest().getHeader("Accept-Encoding"));
+        assertEquals(largeBody, response);
+        assertEquals(largeBody, streamed);
+        assertEquals(errorBody, thrown.getResponseBody());
+        assertEquals(3, compression.getCompressedResponseCount());
+        // compressing the tiny error body made it larger
+        assertEquals(2 * (largeBody.length() - gzippedSize) + (errorBody.length() - gzippedErrorSize), compression.getResponseBytesSaved());
+    }
+
+    @Test
+    public void testItAllocatesLessThanBuildingEachRequestFromScratch() throws Exception {
+        assumeTrue(Allocations.isSupported());
+
+        HttpUrl endpoint = HttpUrl.get("https://api.example.com/v1");
+        Map<String, String> defaultHeaders = Map.of("User-Agent", "Ginger-Java");
+        Map<String, String> headers = Map.of("Content-Type", "application/json");
+        String path = "/orders/fcbfdd3a-ea2c-4240-96b2-613d49b79a55";
+        OkHttpClient templateClient = new OkHttpClient(endpoint, "1a1b2e63c55e", defaultHeaders);
+
+        Allocations.Call fromTemplate = i -> templateClient.newRequest("GET", path, headers, null);
+        Allocations.Call fromScratch = i -> {
+            Request.Builder builder = new Request.Builder().headers(Headers.of(defaultHeaders));
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                builder.header(header.getKey(), header.getValue());
+            }
+            builder
+                .url(endpoint.newBuilder().addPathSegments(path.substring(1)).build())
+                .method("GET", null)
+                .header("Authorization", Credentials.basic("1a1b2e63c55e", ""))
+                .build();
+        };
+
+        long templateBytes = Allocations.bytesPerCall(20_000, fromTemplate);
+        long scratchBytes = Allocations.bytesPerCall(20_000, fromScratch);
+
+        assertTrue(
+            String.format("%d bytes per request from template, %d from scratch", templateBytes, scratchBytes),
+            templateBytes < scratchBytes
+        );
+    }
+
+    private static Buffer gzip(String body) throws Exception {
+        Buffer compressed = new Buffer();
+
+        try (BufferedSink gzip = Okio.buffer(new GzipSink(compressed))) {
+            gzip.writeUtf8(body);
+        }
+
+        return compressed;
+    }
 }
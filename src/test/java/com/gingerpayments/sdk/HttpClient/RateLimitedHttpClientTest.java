@@ -0,0 +1,191 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public final class RateLimitedHttpClientTest {
+    private MockHttpClient httpClient;
+
+    @Before
+    public void setUp() {
+        httpClient = new MockHttpClient();
+        httpClient.setResponseToReturn("{}");
+    }
+
+    @Test
+    public void testItLetsABurstThroughAndThenWaitsForAToken() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(20, 2).build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+
+        long start = System.nanoTime();
+        client.request("GET", "/orders/a");
+        client.request("GET", "/orders/b");
+        client.request("GET", "/orders/c");
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(1, rateLimiter.getThrottledCount());
+        assertEquals("/orders/c", httpClient.lastRequestData()[1]);
+    }
+
+    @Test
+    public void testItRejectsRequestsWhenFailingFast() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(1, 1).failFast().build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+
+        client.request("GET", "/orders/a");
+
+        assertThrows(RequestRejectedException.class, () -> client.request("GET", "/orders/b"));
+        assertEquals(1, rateLimiter.getRejectedCount());
+        assertEquals("/orders/a", httpClient.lastRequestData()[1]);
+    }
+
+    @Test
+    public void testItSharesABucketPerApiKey() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(1, 1).failFast().build();
+
+        new RateLimitedHttpClient(httpClient, rateLimiter, "key").request("GET", "/orders/a");
+
+        assertThrows(
+            RequestRejectedException.class,
+            () -> new RateLimitedHttpClient(httpClient, rateLimiter, "key").request("GET", "/orders/b")
+        );
+        new RateLimitedHttpClient(httpClient, rateLimiter, "other key").request("GET", "/orders/c");
+        assertEquals("/orders/c", httpClient.lastRequestData()[1]);
+    }
+
+    @Test
+    public void testItDropsIdleBuckets() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(1, 1).failFast().build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+        client.request("GET", "/orders/a");
+        rateLimiter.bucketFor("paused key").onFailure(
+            new HttpException(429, "Too Many Requests", "orders/b", null, Map.of("Retry-After", "3600"))
+        );
+
+        rateLimiter.dropIdleBuckets(System.nanoTime());
+        assertEquals(2, rateLimiter.getBucketCount());
+
+        rateLimiter.dropIdleBuckets(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+        assertEquals(1, rateLimiter.getBucketCount());
+
+        // the client draws from the new bucket of its key, shared with other clients
+        client.request("GET", "/orders/c");
+        assertThrows(
+            RequestRejectedException.class,
+            () -> new RateLimitedHttpClient(httpClient, rateLimiter, "key").request("GET", "/orders/d")
+        );
+        assertEquals(2, rateLimiter.getBucketCount());
+    }
+
+    @Test
+    public void testItBacksOffUntilRetryAfterOnTooManyRequests() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(100, 10).build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+        RateLimitedHttpClient impatientClient = new RateLimitedHttpClient(httpClient, rateLimiter, "key", Duration.ofMillis(500));
+        httpClient.setExceptionToThrow(
+            new HttpException(429, "Too Many Requests", "orders/a", null, Map.of("retry-after", "1"))
+        );
+
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/a"));
+
+        assertEquals(1, rateLimiter.getRateLimitedCount());
+        assertEquals(50, rateLimiter.getRate("key"), 0.001);
+        assertThrows(RequestRejectedException.class, () -> impatientClient.request("GET", "/orders/b"));
+    }
+
+    @Test
+    public void testItDelaysAsynchronousRequestsWithoutBlocking() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(10, 1).build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+
+        long start = System.nanoTime();
+        client.requestAsync("GET", "/orders/a", null, null).get();
+        CompletableFuture<String> delayed = client.requestAsync("GET", "/orders/b", null, null);
+
+        assertFalse(delayed.isDone());
+        assertEquals("{}", delayed.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(80));
+    }
+
+    @Test
+    public void testItAdaptsToRateLimitHeaders() throws Exception {
+        MockWebServer server = new MockWebServer();
+        RateLimiter rateLimiter = RateLimiter.builder().rate(10, 10).minRate(0.1).failFast().build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(
+            new OkHttpClient(server.url("/v1"), "key"),
+            rateLimiter,
+            "key"
+        );
+        long reset = System.currentTimeMillis() / 1000 + 60;
+        server.enqueue(new MockResponse().setBody("{}").setHeader("RateLimit-Remaining", "5").setHeader("RateLimit-Reset", "10"));
+        server.enqueue(new MockResponse().setBody("{}").setHeader("X-RateLimit-Remaining", "0").setHeader("X-RateLimit-Reset", reset));
+
+        try {
+            client.request("GET", "/orders/a");
+            assertEquals(0.5, rateLimiter.getRate("key"), 0.001);
+
+            client.request("GET", "/orders/b");
+            assertThrows(RequestRejectedException.class, () -> client.request("GET", "/orders/c"));
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    @Test
+    public void testItGivesBackTheTokenOfAnInterruptedRequest() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(1, 1).build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+        client.request("GET", "/orders/a");
+
+        Thread.currentThread().interrupt();
+        assertThrows(RequestRejectedException.class, () -> client.request("GET", "/orders/b"));
+        assertTrue(Thread.interrupted());
+
+        // the next request waits for one token, not two
+        assertTrue(rateLimiter.bucketFor("key").reserve(Long.MAX_VALUE) <= TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testItGivesBackTheTokenOfACancelledRequest() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.builder().rate(2, 1).build();
+        RateLimitedHttpClient client = new RateLimitedHttpClient(httpClient, rateLimiter, "key");
+        client.request("GET", "/orders/a");
+
+        // its token is due after 500 ms, and then given back
+        client.requestAsync("GET", "/orders/b", null, null).cancel(true);
+        Thread.sleep(700);
+
+        assertEquals("/orders/a", httpClient.lastRequestData()[1]);
+        assertEquals(0, rateLimiter.bucketFor("key").reserve(0));
+    }
+
+    @Test
+    public void testItParsesRetryAfterAsSecondsOrAnHttpDate() {
+        long now = System.currentTimeMillis();
+        String inTwoMinutes = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+            ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(2)
+        );
+
+        assertEquals(TimeUnit.SECONDS.toNanos(120), RateLimiter.retryAfterNanos("120", now));
+        assertEquals(120, TimeUnit.NANOSECONDS.toSeconds(RateLimiter.retryAfterNanos(inTwoMinutes, now)), 1);
+        assertEquals(-1, RateLimiter.retryAfterNanos("soon", now));
+        assertEquals(-1, RateLimiter.retryAfterNanos(null, now));
+        assertEquals(TimeUnit.SECONDS.toNanos(30), RateLimiter.resetNanos(Long.toString(now / 1000 + 30), now), TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,129 @@
+package com.gingerpayments.sdk.HttpClient;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public final class RetryingHttpClientTest {
+    private MockWebServer server;
+    private RetryingHttpClient client;
+
+    @Before
+    public void setUp() {
+        server = new MockWebServer();
+        client = new RetryingHttpClient(
+            new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"),
+            RetryPolicy.builder()
+                .maxAttempts(3)
+                .backoff(Duration.ofMillis(1), Duration.ofMillis(5))
+                .build()
+        );
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testItRetriesRetryableStatusCodes() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertEquals("ok", client.request("GET", "/orders/abc"));
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testItRetriesIoErrors() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertEquals("ok", client.request("GET", "/orders/abc"));
+    }
+
+    @Test
+    public void testItGivesUpAfterTheMaximumNumberOfAttempts() {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        HttpException thrown = assertThrows(
+            HttpException.class,
+            () -> client.request("GET", "/orders/abc")
+        );
+        assertEquals(503, thrown.getErrorNumber());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void testItDoesNotRetryClientErrors() {
+        server.enqueue(new MockResponse().setResponseCode(400));
+
+        assertThrows(HttpException.class, () -> client.request("GET", "/orders/abc"));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void testItSendsTheSameIdempotencyKeyWithEveryAttempt() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        client.request("POST", "/orders", Map.of("Content-Type", "application/json"), "{}");
+
+        RecordedRequest first = server.takeRequest();
+        RecordedRequest second = server.takeRequest();
+        assertNotNull(first.getHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+        assertEquals(first.getHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER), second.getHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+        assertEquals("{}", second.getBody().readUtf8());
+    }
+
+    @Test
+    public void testItKeepsTheIdempotencyKeyOfTheCallerRegardlessOfCase() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        client.request("POST", "/orders", Map.of("idempotency-key", "order-12345"), "{}");
+
+        assertEquals("order-12345", server.takeRequest().getHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+        assertEquals(List.of("order-12345"), server.takeRequest().getHeaders().values(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Test
+    public void testItDoesNotRetryPostRequestsWithoutIdempotencyKey() throws Exception {
+        client = new RetryingHttpClient(
+            new OkHttpClient(server.url("/v1"), "1a1b2e63c55e"),
+            RetryPolicy.builder().idempotencyKeys(false).build()
+        );
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(HttpException.class, () -> client.request("POST", "/orders", Map.of(), "{}"));
+        assertEquals(1, server.getRequestCount());
+        assertNull(server.takeRequest().getHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Test
+    public void testItRetriesAsynchronousRequests() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody("ok"));
+
+        assertEquals("ok", client.requestAsync("GET", "/orders/abc").get());
+        assertEquals(2, server.getRequestCount());
+    }
+}
@@ -0,0 +1,68 @@
+package com.gingerpayments.sdk;
+
+import com.gingerpayments.sdk.ApiClient.ApiClient;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public final class TenantClientFactoryTest {
+    private MockWebServer server;
+    private TenantClientFactory factory;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        factory = Ginger.builder()
+            .endpoint(server.url("/").url())
+            .buildTenantFactory(2);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testItReusesTheClientForAnApiKey() {
+        assertSame(factory.forApiKey("merchant-a"), factory.forApiKey("merchant-a"));
+        assertNotSame(factory.forApiKey("merchant-a"), factory.forApiKey("merchant-b"));
+    }
+
+    @Test
+    public void testItAppliesTheApiKeyOfEachTenantOverASharedConnection() throws Exception {
+        server.enqueue(new MockResponse().setBody("[]"));
+        server.enqueue(new MockResponse().setBody("[]"));
+
+        factory.forApiKey("merchant-a").getIdealIssuers();
+        factory.forApiKey("merchant-b").getIdealIssuers();
+
+        RecordedRequest first = server.takeRequest();
+        RecordedRequest second = server.takeRequest();
+        assertEquals("Basic bWVyY2hhbnQtYTo=", first.getHeader("Authorization"));
+        assertEquals("Basic bWVyY2hhbnQtYjo=", second.getHeader("Authorization"));
+        assertEquals(1, second.getSequenceNumber());
+    }
+
+    @Test
+    public void testItEvictsTheLeastRecentlyUsedClient() {
+        ApiClient first = factory.forApiKey("merchant-a");
+        ApiClient second = factory.forApiKey("merchant-b");
+        factory.forApiKey("merchant-a");
+        factory.forApiKey("merchant-c");
+
+        assertEquals(2, factory.size());
+        assertSame(first, factory.forApiKey("merchant-a"));
+        assertNotSame(second, factory.forApiKey("merchant-b"));
+    }
+}
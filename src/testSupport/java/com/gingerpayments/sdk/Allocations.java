@@ -0,0 +1,60 @@
+package com.gingerpayments.sdk;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the heap memory allocated by code running on the calling thread.
+ */
+public final class Allocations {
+    private Allocations() {}
+
+    /**
+     * @return Whether the JVM counts allocations per thread; tests that
+     *         measure allocations should be skipped when it does not.
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            return false;
+        }
+
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threadBean;
+
+        return allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Run a call the given number of times to warm up, then as many times
+     * again while counting the allocations of the calling thread.
+     *
+     * @param iterations Number of calls to warm up with, and to measure.
+     * @param call       Call to measure, given the iteration number.
+     * @return Average number of bytes allocated per call.
+     * @throws Exception When the call fails.
+     */
+    public static long bytesPerCall(int iterations, Call call) throws Exception {
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < iterations; i++) {
+            call.run(i);
+        }
+
+        long before = allocations.getThreadAllocatedBytes(threadId);
+
+        for (int i = 0; i < iterations; i++) {
+            call.run(i);
+        }
+
+        return (allocations.getThreadAllocatedBytes(threadId) - before) / iterations;
+    }
+
+    /**
+     * Code whose allocations are measured.
+     */
+    @FunctionalInterface
+    public interface Call {
+        void run(int iteration) throws Exception;
+    }
+}
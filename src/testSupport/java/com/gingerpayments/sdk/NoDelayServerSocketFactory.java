@@ -0,0 +1,53 @@
+package com.gingerpayments.sdk;
+
+import javax.net.ServerSocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Server sockets whose connections use TCP_NODELAY, for MockWebServer.
+ *
+ * MockWebServer writes the response headers and body separately; without
+ * TCP_NODELAY, Nagle's algorithm and delayed ACKs add about 40 ms to every
+ * response on loopback, which would swamp the latencies being measured.
+ */
+public final class NoDelayServerSocketFactory extends ServerSocketFactory {
+    @Override
+    public ServerSocket createServerSocket() throws IOException {
+        return new NoDelayServerSocket();
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        return bind(new NoDelayServerSocket(), port, 50, null);
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+        return bind(new NoDelayServerSocket(), port, backlog, null);
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog, InetAddress address) throws IOException {
+        return bind(new NoDelayServerSocket(), port, backlog, address);
+    }
+
+    private static ServerSocket bind(ServerSocket socket, int port, int backlog, InetAddress address) throws IOException {
+        socket.bind(new InetSocketAddress(address, port), backlog);
+        return socket;
+    }
+
+    private static final class NoDelayServerSocket extends ServerSocket {
+        NoDelayServerSocket() throws IOException {}
+
+        @Override
+        public Socket accept() throws IOException {
+            Socket socket = super.accept();
+            socket.setTcpNoDelay(true);
+            return socket;
+        }
+    }
+}